@@ -0,0 +1,130 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fires concurrent logins at a running backend and reports throughput, latency and JVM thread counts.
+ *
+ * <pre>
+ * java perf/LoginStorm.java http://localhost:8000 perf-user-1 secret 400 30 [http://localhost:8081]
+ * </pre>
+ *
+ * The optional last argument is the actuator base URL; it defaults to the base URL on the management port, 8081.
+ * Run once with VIRTUAL_THREADS_ENABLED=false and once with VIRTUAL_THREADS_ENABLED=true.
+ */
+public class LoginStorm {
+
+    private static final Pattern METRIC_VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.E+-]+)");
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0];
+        String username = args[1];
+        String password = args[2];
+        int concurrency = Integer.parseInt(args[3]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[4]));
+        String managementUrl = args.length > 5 ? args[5] : managementUrl(baseUrl);
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .build();
+
+        Matcher token = ACCESS_TOKEN.matcher(client.send(login, HttpResponse.BodyHandlers.ofString()).body());
+        if (!token.find())
+            throw new IllegalStateException("Warm-up login failed; check the credentials");
+        String accessToken = token.group(1);
+
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger peakThreads = new AtomicInteger();
+        AtomicReference<String> samplerError = new AtomicReference<>();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    peakThreads.accumulateAndGet((int) metric(client, managementUrl, accessToken, "jvm.threads.live"),
+                            Math::max);
+                } catch (Exception e) {
+                    samplerError.compareAndSet(null, e.toString());
+                }
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        try (var workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(login, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200)
+                                errors.incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - start);
+                    }
+                });
+            }
+        }
+        sampler.interrupt();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        sorted.sort(null);
+        System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n",
+                sorted.size(), errors.get(), sorted.size() / (double) duration.toSeconds());
+        System.out.printf("latency p50=%.1fms p99=%.1fms%n", percentile(sorted, 0.50), percentile(sorted, 0.99));
+        if (samplerError.get() != null)
+            System.out.printf("jvm.threads.live unavailable from %s: %s%n", managementUrl, samplerError.get());
+        else
+            System.out.printf("jvm.threads.live peak=%d%n", peakThreads.get());
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty())
+            return 0;
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.floor(p * sorted.size()))) / 1_000_000.0;
+    }
+
+    private static String managementUrl(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        return uri.getScheme() + "://" + uri.getHost() + ":8081";
+    }
+
+    private static double metric(HttpClient client, String managementUrl, String accessToken, String name)
+            throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(managementUrl + "/actuator/metrics/" + name))
+                .header("Authorization", "Bearer " + accessToken)
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200)
+            throw new IllegalStateException("HTTP " + response.statusCode() + " for " + request.uri());
+        Matcher matcher = METRIC_VALUE.matcher(response.body());
+        if (!matcher.find())
+            throw new IllegalStateException("No value in " + request.uri());
+        return Double.parseDouble(matcher.group(1));
+    }
+
+}
@@ -0,0 +1,32 @@
+-- Captures plans and latencies for the per-request access paths.
+-- Run once before and once after V2__transaction_access_path_indexes.sql:
+--   psql -v username=perf-user-42 -f perf/explain.sql > perf/plans-<label>.txt
+\set ON_ERROR_STOP on
+\timing on
+
+SELECT id AS user_id, keycloak_id FROM users WHERE username = :'username' \gset
+
+-- users.findByUsername / findIdByKeycloakId
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM users WHERE username = :'username';
+EXPLAIN (ANALYZE, BUFFERS) SELECT id FROM users WHERE keycloak_id = :'keycloak_id';
+
+-- categories.findByUser
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM category WHERE user_id = :'user_id';
+
+-- first keyset page of GET /transactions
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.*, c.*
+FROM transaction t LEFT JOIN category c ON c.id = t.category_id
+WHERE t.user_id = :'user_id'
+ORDER BY t.date DESC, t.id DESC
+LIMIT 51;
+
+-- GET /transactions/balance?from&to
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COALESCE(SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END), 0)
+FROM transaction
+WHERE user_id = :'user_id' AND date BETWEEN DATE '2023-01-01' AND DATE '2023-12-31';
+
+-- DELETE /categories/{id} unsets the category on its transactions
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM transaction WHERE category_id = (SELECT id FROM category WHERE user_id = :'user_id' LIMIT 1);
@@ -0,0 +1,39 @@
+-- Seeds :users users with :categories categories each and :transactions transactions in total.
+-- Usage: psql -v users=1000 -v categories=10 -v transactions=10000000 -f perf/seed.sql
+\set ON_ERROR_STOP on
+\timing on
+
+BEGIN;
+
+INSERT INTO users (id, keycloak_id, username, email)
+SELECT gen_random_uuid(), 'perf-kc-' || u, 'perf-user-' || u, 'perf-user-' || u || '@example.com'
+FROM generate_series(1, :users) AS u;
+
+CREATE TEMP TABLE perf_users AS
+SELECT id, row_number() OVER (ORDER BY username) AS n
+FROM users WHERE username LIKE 'perf-user-%';
+
+INSERT INTO category (id, name, user_id)
+SELECT gen_random_uuid(), 'perf-category-' || pu.n || '-' || c, pu.id
+FROM perf_users pu, generate_series(1, :categories) AS c;
+
+CREATE TEMP TABLE perf_categories AS
+SELECT c.id, pu.n, row_number() OVER (PARTITION BY pu.n ORDER BY c.name) AS k
+FROM category c JOIN perf_users pu ON pu.id = c.user_id;
+
+INSERT INTO transaction (id, type, amount, date, category_id, user_id)
+SELECT gen_random_uuid(),
+       CASE WHEN random() < 0.2 THEN 'INCOME' ELSE 'EXPENSE' END,
+       round((random() * 1000)::numeric, 2),
+       DATE '2020-01-01' + (random() * 2190)::int,
+       pc.id,
+       pu.id
+FROM generate_series(1, :transactions) AS t
+JOIN perf_users pu ON pu.n = 1 + (t % :users)
+LEFT JOIN perf_categories pc ON pc.n = pu.n AND pc.k = 1 + (t % (:categories + 1));
+
+COMMIT;
+
+ANALYZE users;
+ANALYZE category;
+ANALYZE transaction;
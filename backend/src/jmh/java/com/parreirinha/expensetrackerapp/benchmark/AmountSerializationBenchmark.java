@@ -0,0 +1,73 @@
+package com.parreirinha.expensetrackerapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parreirinha.expensetrackerapp.transactions.domain.Money;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionExportRow;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AmountSerializationBenchmark {
+
+    @Param({"1000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private List<TransactionExportRow> minorUnitRows;
+    private List<DecimalExportRow> decimalRows;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        minorUnitRows = BenchmarkData.transactions(rows).stream()
+                .map(t -> new TransactionExportRow(t.getId(), t.getDate(), t.getType(), t.getAmountMinor(),
+                        t.getCategory() == null ? null : t.getCategory().getId(),
+                        t.getCategory() == null ? null : t.getCategory().getName()))
+                .toList();
+        decimalRows = minorUnitRows.stream()
+                .map(row -> new DecimalExportRow(row.id(), row.date(), row.type(), Money.toDecimal(row.amount()),
+                        row.categoryId(), row.categoryName()))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] jsonDecimal() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(decimalRows);
+    }
+
+    @Benchmark
+    public byte[] jsonMinorUnits() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(minorUnitRows);
+    }
+
+    @Benchmark
+    public int csvAmountsDecimal() {
+        StringBuilder out = new StringBuilder(rows * 12);
+        for (DecimalExportRow row : decimalRows)
+            out.append(row.amount().toPlainString()).append('\n');
+        return out.length();
+    }
+
+    @Benchmark
+    public int csvAmountsMinorUnits() {
+        StringBuilder out = new StringBuilder(rows * 12);
+        for (TransactionExportRow row : minorUnitRows)
+            Money.appendTo(out, row.amount()).append('\n');
+        return out.length();
+    }
+
+    public record DecimalExportRow(UUID id, LocalDate date, TransactionType type, BigDecimal amount,
+                                   UUID categoryId, String categoryName) {
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.parreirinha.expensetrackerapp.benchmark;
+
+import com.parreirinha.expensetrackerapp.category.domain.Category;
+import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.transactions.dto.SummaryGroupBy;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionAnalyticsRow;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionSummaryDto;
+import com.parreirinha.expensetrackerapp.transactions.service.TransactionAnalyticsSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnalyticsSnapshotBenchmark {
+
+    private static final LocalDate FROM = LocalDate.of(2022, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2022, 12, 31);
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private List<Transaction> transactions;
+    private List<Category> categories;
+    private TransactionAnalyticsSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        transactions = BenchmarkData.transactions(rows).stream()
+                .sorted(Comparator.comparing(Transaction::getDate))
+                .toList();
+        categories = transactions.stream()
+                .map(Transaction::getCategory)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted(Comparator.comparing(Category::getName))
+                .toList();
+        snapshot = TransactionAnalyticsSnapshot.build(0, categories, transactions.stream()
+                .map(t -> new TransactionAnalyticsRow(t.getAmountMinor(), t.getDate(), t.getType(),
+                        t.getCategory() == null ? null : t.getCategory().getId()))
+                .iterator()).orElseThrow();
+    }
+
+    @Benchmark
+    public TransactionAnalyticsSnapshot build() {
+        return TransactionAnalyticsSnapshot.build(0, categories, transactions.stream()
+                .map(t -> new TransactionAnalyticsRow(t.getAmountMinor(), t.getDate(), t.getType(),
+                        t.getCategory() == null ? null : t.getCategory().getId()))
+                .iterator()).orElseThrow();
+    }
+
+    @Benchmark
+    public long entityBalanceRange() {
+        return transactions.stream()
+                .filter(t -> !t.getDate().isBefore(FROM) && !t.getDate().isAfter(TO))
+                .mapToLong(t -> t.getType() == TransactionType.INCOME ? t.getAmountMinor() : -t.getAmountMinor())
+                .sum();
+    }
+
+    @Benchmark
+    public long snapshotBalanceRange() {
+        return snapshot.balance(FROM, TO);
+    }
+
+    @Benchmark
+    public Map<String, Long> entityExpenseByCategory() {
+        return transactions.stream()
+                .filter(t -> !t.getDate().isBefore(FROM) && !t.getDate().isAfter(TO))
+                .filter(t -> t.getType() == TransactionType.EXPENSE)
+                .collect(Collectors.groupingBy(t -> t.getCategory() == null ? "" : t.getCategory().getName(),
+                        Collectors.summingLong(Transaction::getAmountMinor)));
+    }
+
+    @Benchmark
+    public List<TransactionSummaryDto> snapshotSummaryByCategory() {
+        return snapshot.summarize(FROM, TO, SummaryGroupBy.CATEGORY);
+    }
+
+    @Benchmark
+    public List<TransactionSummaryDto> snapshotSummaryByMonth() {
+        return snapshot.summarize(FROM, TO, SummaryGroupBy.MONTH);
+    }
+
+}
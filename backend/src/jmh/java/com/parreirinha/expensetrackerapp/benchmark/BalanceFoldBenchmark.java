@@ -0,0 +1,43 @@
+package com.parreirinha.expensetrackerapp.benchmark;
+
+import com.parreirinha.expensetrackerapp.transactions.domain.Money;
+import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BalanceFoldBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private List<Transaction> transactions;
+    private List<BigDecimal> signedDecimals;
+
+    @Setup
+    public void setUp() {
+        transactions = BenchmarkData.transactions(rows);
+        signedDecimals = transactions.stream()
+                .map(t -> Money.toDecimal(t.getType() == TransactionType.INCOME ? t.getAmountMinor() : -t.getAmountMinor()))
+                .toList();
+    }
+
+    @Benchmark
+    public BigDecimal streamFold() {
+        return signedDecimals.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public long minorUnitFold() {
+        return transactions.stream()
+                .mapToLong(t -> t.getType() == TransactionType.INCOME ? t.getAmountMinor() : -t.getAmountMinor())
+                .sum();
+    }
+
+}
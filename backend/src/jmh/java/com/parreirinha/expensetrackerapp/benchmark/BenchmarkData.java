@@ -0,0 +1,39 @@
+package com.parreirinha.expensetrackerapp.benchmark;
+
+import com.parreirinha.expensetrackerapp.category.domain.Category;
+import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.user.domain.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Transaction> transactions(int rows) {
+        Random random = new Random(42);
+        User user = new User(UUID.randomUUID(), "kc-bench", "bench", "bench@example.com", 0);
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+            categories.add(new Category(UUID.randomUUID(), "category-" + i, user));
+        List<Transaction> transactions = new ArrayList<>(rows);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            transactions.add(new Transaction(
+                    UUID.randomUUID(),
+                    random.nextInt(5) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    random.nextInt(1_000_000) + 1L,
+                    start.plusDays(random.nextInt(2190)),
+                    random.nextInt(10) == 0 ? null : categories.get(random.nextInt(categories.size())),
+                    user));
+        }
+        return transactions;
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.parreirinha.expensetrackerapp.benchmark;
+
+import com.parreirinha.expensetrackerapp.ExpensetrackerappApplication;
+import com.parreirinha.expensetrackerapp.category.domain.Category;
+import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.transactions.repository.TransactionRepository;
+import com.parreirinha.expensetrackerapp.transactions.repository.projection.CategoryTotals;
+import com.parreirinha.expensetrackerapp.user.domain.User;
+import com.parreirinha.expensetrackerapp.user.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /transactions/summary?groupBy=category against the approach it replaced: load every transaction with
+ * findByUser and group them in a stream. Both run through the real repository against an embedded PostgreSQL
+ * migrated by Flyway, in a read-only transaction like the service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CategorySummaryBenchmark {
+
+    private static final LocalDate FROM = LocalDate.of(2022, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2022, 12, 31);
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private UserRepository userRepository;
+    private TransactionTemplate readOnly;
+    private UUID userId;
+
+    @Setup
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(ExpensetrackerappApplication.class).run(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--server.port=0",
+                "--management.server.port=0",
+                "--logging.level.root=WARN",
+                "--outbox.poll-interval-ms=600000",
+                "--spring.security.oauth2.resourceserver.jwt.issuer-uri=http://localhost:1/realms/benchmark",
+                "--spring.security.oauth2.resourceserver.jwt.jwk-set-uri=http://localhost:1/certs",
+                "--POSTGRES_DB=postgres",
+                "--KEYCLOAK_REALM=benchmark",
+                "--KEYCLOAK_CLIENT=benchmark",
+                "--KEYCLOAK_CLIENT_SECRET=benchmark",
+                "--KEYCLOAK_BASE_URL=http://localhost:1",
+                "--KEYCLOAK_ADMIN=benchmark",
+                "--KEYCLOAK_ADMIN_PASSWORD=benchmark");
+        transactionRepository = context.getBean(TransactionRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        userId = seed(context.getBean(JdbcTemplate.class), BenchmarkData.transactions(rows));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<CategoryTotals> groupByInDatabase() {
+        return readOnly.execute(status ->
+                transactionRepository.sumByCategory(userRepository.getReferenceById(userId), FROM, TO));
+    }
+
+    @Benchmark
+    public Map<UUID, long[]> findByUserAndStream() {
+        return readOnly.execute(status -> {
+            Map<UUID, long[]> totals = new LinkedHashMap<>();
+            transactionRepository.findByUser(userRepository.getReferenceById(userId)).stream()
+                    .filter(t -> !t.getDate().isBefore(FROM) && !t.getDate().isAfter(TO))
+                    .forEach(t -> {
+                        Category category = t.getCategory();
+                        long[] bucket = totals.computeIfAbsent(category == null ? null : category.getId(),
+                                id -> new long[3]);
+                        bucket[t.getType() == TransactionType.INCOME ? 0 : 1] += t.getAmountMinor();
+                        bucket[2]++;
+                    });
+            return totals;
+        });
+    }
+
+    private static UUID seed(JdbcTemplate jdbcTemplate, List<Transaction> transactions) {
+        User user = transactions.get(0).getUser();
+        jdbcTemplate.update("INSERT INTO users (id, keycloak_id, username, email) VALUES (?, ?, ?, ?)",
+                user.getId(), user.getKeycloakId(), user.getUsername(), user.getEmail());
+        Map<UUID, Category> categories = new HashMap<>();
+        transactions.stream().map(Transaction::getCategory).filter(Objects::nonNull)
+                .forEach(category -> categories.putIfAbsent(category.getId(), category));
+        jdbcTemplate.batchUpdate("INSERT INTO category (id, name, user_id) VALUES (?, ?, ?)",
+                categories.values().stream()
+                        .map(category -> new Object[]{category.getId(), category.getName(), user.getId()})
+                        .toList());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transaction (id, type, amount_minor, date, category_id, user_id) VALUES (?, ?, ?, ?, ?, ?)",
+                transactions.stream()
+                        .map(t -> new Object[]{t.getId(), t.getType().name(), t.getAmountMinor(),
+                                Date.valueOf(t.getDate()),
+                                t.getCategory() == null ? null : t.getCategory().getId(), user.getId()})
+                        .toList());
+        jdbcTemplate.execute("ANALYZE");
+        return user.getId();
+    }
+
+}
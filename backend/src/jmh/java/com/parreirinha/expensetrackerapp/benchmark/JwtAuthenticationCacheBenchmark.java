@@ -0,0 +1,74 @@
+package com.parreirinha.expensetrackerapp.benchmark;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.parreirinha.expensetrackerapp.config.CachingJwtAuthenticationManager;
+import com.parreirinha.expensetrackerapp.config.SecurityConfiguration;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationCacheBenchmark {
+
+    private JwtAuthenticationProvider provider;
+    private CachingJwtAuthenticationManager cachingManager;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        provider = new JwtAuthenticationProvider(
+                NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build());
+        provider.setJwtAuthenticationConverter(new SecurityConfiguration().jwtAuthenticationConverter());
+        cachingManager = new CachingJwtAuthenticationManager(provider, 10_000, Duration.ofMinutes(5), Clock.systemUTC());
+        token = sign(keyPair);
+    }
+
+    @Benchmark
+    public Authentication decodeAndConvert() {
+        return provider.authenticate(new BearerTokenAuthenticationToken(token));
+    }
+
+    @Benchmark
+    public Authentication cached() {
+        return cachingManager.authenticate(new BearerTokenAuthenticationToken(token));
+    }
+
+    private static String sign(KeyPair keyPair) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer("http://localhost/realms/bench")
+                .subject("kc-bench")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(Duration.ofHours(1))))
+                .claim("preferred_username", "bench")
+                .claim("realm_access", Map.of("roles", List.of("USER", "offline_access", "uma_authorization")))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), claims);
+        jwt.sign(new RSASSASigner(keyPair.getPrivate()));
+        return jwt.serialize();
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.parreirinha.expensetrackerapp.benchmark;
+
+import com.parreirinha.expensetrackerapp.config.SecurityConfiguration;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthoritiesBenchmark {
+
+    private JwtAuthenticationConverter converter;
+    private Jwt jwt;
+
+    @Setup
+    public void setUp() {
+        converter = new SecurityConfiguration().jwtAuthenticationConverter();
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("kc-bench")
+                .claim("preferred_username", "bench")
+                .claim("realm_access", Map.of("roles", List.of("USER", "offline_access", "uma_authorization")))
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convert() {
+        return converter.convert(jwt);
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.parreirinha.expensetrackerapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parreirinha.expensetrackerapp.category.mapper.CategoryMapperImpl;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionResponseDto;
+import com.parreirinha.expensetrackerapp.transactions.mapper.TransactionMapper;
+import com.parreirinha.expensetrackerapp.transactions.mapper.TransactionMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransactionJsonBenchmark {
+
+    @Param({"1", "1000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private List<TransactionResponseDto> dtos;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        try (AnnotationConfigApplicationContext context =
+                     new AnnotationConfigApplicationContext(TransactionMapperImpl.class, CategoryMapperImpl.class)) {
+            dtos = context.getBean(TransactionMapper.class)
+                    .toTransactionResponseDtoList(BenchmarkData.transactions(rows));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.parreirinha.expensetrackerapp.benchmark;
+
+import com.parreirinha.expensetrackerapp.category.mapper.CategoryMapperImpl;
+import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionResponseDto;
+import com.parreirinha.expensetrackerapp.transactions.mapper.TransactionMapper;
+import com.parreirinha.expensetrackerapp.transactions.mapper.TransactionMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransactionMapperBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private AnnotationConfigApplicationContext context;
+    private TransactionMapper transactionMapper;
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(TransactionMapperImpl.class, CategoryMapperImpl.class);
+        transactionMapper = context.getBean(TransactionMapper.class);
+        transactions = BenchmarkData.transactions(rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TransactionResponseDto> toTransactionResponseDtoList() {
+        return transactionMapper.toTransactionResponseDtoList(transactions);
+    }
+
+}
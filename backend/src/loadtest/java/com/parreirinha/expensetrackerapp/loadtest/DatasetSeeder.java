@@ -0,0 +1,90 @@
+package com.parreirinha.expensetrackerapp.loadtest;
+
+import com.parreirinha.expensetrackerapp.config.ShardTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+final class DatasetSeeder {
+
+    private static final String INSERT_USER = "INSERT INTO users (id, keycloak_id, username, email) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_CATEGORY = "INSERT INTO category (id, name, user_id) VALUES (?, ?, ?)";
+    private static final String INSERT_TRANSACTION =
+            "INSERT INTO transaction (id, type, amount_minor, date, category_id, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 5_000;
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+    private static final int DAYS = 6 * 365;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardTemplate shardTemplate;
+    private final Random random;
+
+    DatasetSeeder(JdbcTemplate jdbcTemplate, ShardTemplate shardTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardTemplate = shardTemplate;
+        this.random = new Random(seed);
+    }
+
+    List<SeededUser> seed(int users, int categoriesPerUser, int transactionsPerUser) {
+        List<SeededUser> seeded = new ArrayList<>(users);
+        for (int u = 0; u < users; u++)
+            seeded.add(new SeededUser(UUID.randomUUID(), "loadtest-kc-" + u, "loadtest-user-" + u));
+        Map<String, List<SeededUser>> byShard = seeded.stream()
+                .collect(Collectors.groupingBy(user -> shardTemplate.shardFor(user.keycloakId()),
+                        LinkedHashMap::new, Collectors.toList()));
+        byShard.forEach((shard, shardUsers) -> shardTemplate.run(shard,
+                () -> seedShard(shardUsers, categoriesPerUser, transactionsPerUser)));
+        return seeded;
+    }
+
+    private void seedShard(List<SeededUser> users, int categoriesPerUser, int transactionsPerUser) {
+        List<Object[]> userRows = new ArrayList<>();
+        List<Object[]> categoryRows = new ArrayList<>();
+        List<Object[]> transactionRows = new ArrayList<>(BATCH_SIZE);
+        for (SeededUser user : users)
+            userRows.add(new Object[]{user.id(), user.keycloakId(), user.username(), user.username() + "@example.com"});
+        insert(INSERT_USER, userRows);
+
+        for (int u = 0; u < users.size(); u++) {
+            SeededUser user = users.get(u);
+            List<UUID> categoryIds = new ArrayList<>(categoriesPerUser);
+            for (int c = 0; c < categoriesPerUser; c++) {
+                UUID categoryId = UUID.randomUUID();
+                categoryIds.add(categoryId);
+                categoryRows.add(new Object[]{categoryId, "loadtest-category-" + u + "-" + c, user.id()});
+            }
+            insert(INSERT_CATEGORY, categoryRows);
+
+            for (int t = 0; t < transactionsPerUser; t++) {
+                transactionRows.add(new Object[]{
+                        UUID.randomUUID(),
+                        random.nextInt(5) == 0 ? "INCOME" : "EXPENSE",
+                        (long) random.nextInt(1_000_000) + 1,
+                        Date.valueOf(START.plusDays(random.nextInt(DAYS))),
+                        categoryIds.isEmpty() || random.nextInt(10) == 0 ? null
+                                : categoryIds.get(random.nextInt(categoryIds.size())),
+                        user.id()});
+                if (transactionRows.size() >= BATCH_SIZE)
+                    insert(INSERT_TRANSACTION, transactionRows);
+            }
+        }
+        insert(INSERT_TRANSACTION, transactionRows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        if (rows.isEmpty())
+            return;
+        jdbcTemplate.batchUpdate(sql, rows);
+        rows.clear();
+    }
+
+}
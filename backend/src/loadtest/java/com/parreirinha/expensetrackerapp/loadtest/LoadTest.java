@@ -0,0 +1,182 @@
+package com.parreirinha.expensetrackerapp.loadtest;
+
+import com.parreirinha.expensetrackerapp.ExpensetrackerappApplication;
+import com.parreirinha.expensetrackerapp.config.ShardTemplate;
+import com.parreirinha.expensetrackerapp.transactions.service.MonthlySummaryService;
+import com.sun.net.httpserver.HttpServer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class LoadTest {
+
+    private static final String DEFAULT_SCENARIOS = "/transactions?size=50,/transactions/balance,/categories";
+    private static final String REPORT_HEADER = """
+            | Scenario | Concurrency | Requests | Errors | Throughput (req/s) | p50 (ms) | p99 (ms) | max (ms) |
+            |----------|-------------|----------|--------|--------------------|----------|----------|----------|""";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 100);
+        int categories = Integer.getInteger("loadtest.categories", 10);
+        int transactions = Integer.getInteger("loadtest.transactions", 1_000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30));
+        Path report = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.md"));
+        String jdbcUrl = System.getProperty("loadtest.jdbc-url", "");
+        boolean replicated = Boolean.getBoolean("loadtest.replica");
+        int shards = Integer.getInteger("loadtest.shards", 1);
+        List<String> scenarios = List.of(System.getProperty("loadtest.scenarios", DEFAULT_SCENARIOS).split(","));
+
+        EmbeddedPostgres postgres = null;
+        List<EmbeddedPostgres> shardPostgres = new ArrayList<>();
+        ReplicatedPostgres replicatedPostgres = null;
+        HttpServer jwkSetServer = null;
+        ConfigurableApplicationContext context = null;
+        try {
+            Map<String, Object> properties = new HashMap<>();
+            if (replicated) {
+                replicatedPostgres = ReplicatedPostgres.start();
+                properties.put("spring.datasource.url", replicatedPostgres.primaryJdbcUrl());
+                properties.put("spring.datasource.username", "postgres");
+                properties.put("spring.datasource.password", "postgres");
+                properties.put("datasource.replica.url", replicatedPostgres.replicaJdbcUrl());
+                properties.put("datasource.replica.username", "postgres");
+                properties.put("datasource.replica.password", "postgres");
+            } else if (shards > 1) {
+                List<String> names = new ArrayList<>();
+                for (int i = 0; i < shards; i++) {
+                    EmbeddedPostgres shard = EmbeddedPostgres.builder().start();
+                    shardPostgres.add(shard);
+                    names.add("shard" + i);
+                    properties.put("datasource.shards.shard" + i + ".url", shard.getJdbcUrl("postgres", "postgres"));
+                }
+                properties.put("datasource.shards.names", String.join(",", names));
+                properties.put("datasource.shards.hikari.maximum-pool-size", Integer.getInteger("loadtest.pool-size", 10));
+                properties.put("datasource.shards.hikari.minimum-idle", Integer.getInteger("loadtest.pool-size", 10));
+                properties.put("spring.datasource.username", "postgres");
+                properties.put("spring.datasource.password", "postgres");
+            } else if (jdbcUrl.isBlank()) {
+                postgres = EmbeddedPostgres.builder().start();
+                properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+                properties.put("spring.datasource.username", "postgres");
+                properties.put("spring.datasource.password", "postgres");
+            } else {
+                properties.put("spring.datasource.url", jdbcUrl);
+                properties.put("spring.datasource.username", System.getProperty("loadtest.jdbc-username", "postgres"));
+                properties.put("spring.datasource.password", System.getProperty("loadtest.jdbc-password", "postgres"));
+            }
+            properties.putAll(standInProperties());
+
+            LocalTokenIssuer tokenIssuer = new LocalTokenIssuer();
+            jwkSetServer = tokenIssuer.serveJwkSet();
+            properties.put("spring.security.oauth2.resourceserver.jwt.issuer-uri", LocalTokenIssuer.ISSUER);
+            properties.put("spring.security.oauth2.resourceserver.jwt.jwk-set-uri",
+                    "http://localhost:" + jwkSetServer.getAddress().getPort() + "/certs");
+            context = new SpringApplicationBuilder(ExpensetrackerappApplication.class)
+                    .run(properties.entrySet().stream()
+                            .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                            .toArray(String[]::new));
+
+            if (replicatedPostgres != null)
+                replicatedPostgres.subscribeReplica();
+            long seedStart = System.nanoTime();
+            ShardTemplate shardTemplate = context.getBean(ShardTemplate.class);
+            List<SeededUser> seeded = new DatasetSeeder(context.getBean(JdbcTemplate.class), shardTemplate, 42)
+                    .seed(users, categories, transactions);
+            context.getBean(MonthlySummaryService.class).rebuildAll();
+            if (replicatedPostgres != null)
+                replicatedPostgres.awaitReplicaCaughtUp(Duration.ofMinutes(10));
+            System.out.printf("Seeded %d users x %d transactions x %d categories in %d s%n",
+                    users, transactions, categories, Duration.ofNanos(System.nanoTime() - seedStart).toSeconds());
+
+            List<String> tokens = seeded.stream().map(user -> tokenIssuer.issue(user, Duration.ofHours(12))).toList();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            boolean conditional = Boolean.getBoolean("loadtest.conditional");
+            ScenarioDriver driver = new ScenarioDriver("http://localhost:" + port, tokens, conditional);
+
+            List<String> lines = new ArrayList<>();
+            lines.add("Dataset: %d users x %d transactions x %d categories, warmup %d s, measured %d s%s"
+                    .formatted(users, transactions, categories, warmup.toSeconds(), duration.toSeconds(),
+                            conditional ? ", conditional GETs" : "")
+                    + (replicated ? ", reads routed to a logical replica" : "")
+                    + (shards > 1 ? ", users spread over " + shards + " shards" : "")
+                    + (Boolean.getBoolean("loadtest.analytics-cache") ? ", analytics snapshot cache on" : ""));
+            lines.add("");
+            lines.add(REPORT_HEADER);
+            long replicaScans = replicatedPostgres == null ? 0 : replicatedPostgres.replicaTableScans();
+            for (String scenario : scenarios)
+                lines.add(driver.run(scenario, concurrency, warmup, duration).toRow());
+            if (shards > 1) {
+                JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                List<Long> usersPerShard = shardTemplate.executeOnEachShard(
+                        () -> jdbcTemplate.queryForObject("SELECT count(*) FROM users", Long.class));
+                lines.add("");
+                lines.add("Users per shard: " + usersPerShard);
+            }
+            if (replicatedPostgres != null) {
+                lines.add("");
+                lines.add("Replica table scans during the run: " + (replicatedPostgres.replicaTableScans() - replicaScans));
+            }
+            lines.forEach(System.out::println);
+            writeReport(report, lines);
+        } finally {
+            if (context != null)
+                context.close();
+            if (postgres != null)
+                postgres.close();
+            for (EmbeddedPostgres shard : shardPostgres)
+                shard.close();
+            if (replicatedPostgres != null)
+                replicatedPostgres.close();
+            if (jwkSetServer != null)
+                jwkSetServer.stop(0);
+        }
+    }
+
+    private static Map<String, Object> standInProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("management.server.port", 0);
+        properties.put("spring.threads.virtual.enabled", System.getProperty("loadtest.virtual-threads", "false"));
+        properties.put("spring.datasource.hikari.maximum-pool-size", Integer.getInteger("loadtest.pool-size", 10));
+        properties.put("spring.datasource.hikari.minimum-idle", Integer.getInteger("loadtest.pool-size", 10));
+        properties.put("spring.jpa.properties.hibernate.generate_statistics", false);
+        properties.put("logging.level.root", "WARN");
+        properties.put("outbox.poll-interval-ms", 60_000);
+        properties.put("transactions.analytics-cache.enabled", Boolean.getBoolean("loadtest.analytics-cache"));
+        String flywayTarget = System.getProperty("loadtest.flyway-target", "");
+        if (!flywayTarget.isBlank())
+            properties.put("spring.flyway.target", flywayTarget);
+        properties.put("POSTGRES_DB", "postgres");
+        properties.put("KEYCLOAK_REALM", "loadtest");
+        properties.put("KEYCLOAK_CLIENT", "loadtest");
+        properties.put("KEYCLOAK_CLIENT_SECRET", "loadtest");
+        properties.put("KEYCLOAK_BASE_URL", "http://localhost:1");
+        properties.put("KEYCLOAK_ADMIN", "loadtest");
+        properties.put("KEYCLOAK_ADMIN_PASSWORD", "loadtest");
+        return properties;
+    }
+
+    private static void writeReport(Path report, List<String> lines) throws IOException {
+        if (report.getParent() != null)
+            Files.createDirectories(report.getParent());
+        Files.write(report, lines);
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.parreirinha.expensetrackerapp.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+final class ReplicatedPostgres implements Closeable {
+
+    private static final String PUBLICATION = "loadtest";
+    private static final String TABLES = "users, category, transaction, monthly_summary, outbox_event";
+
+    private final EmbeddedPostgres primary;
+    private final EmbeddedPostgres replica;
+
+    private ReplicatedPostgres(EmbeddedPostgres primary, EmbeddedPostgres replica) {
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    static ReplicatedPostgres start() throws IOException {
+        EmbeddedPostgres primary = EmbeddedPostgres.builder().setServerConfig("wal_level", "logical").start();
+        try {
+            return new ReplicatedPostgres(primary, EmbeddedPostgres.builder().start());
+        } catch (IOException | RuntimeException e) {
+            primary.close();
+            throw e;
+        }
+    }
+
+    String primaryJdbcUrl() {
+        return primary.getJdbcUrl("postgres", "postgres");
+    }
+
+    String replicaJdbcUrl() {
+        return replica.getJdbcUrl("postgres", "postgres");
+    }
+
+    void subscribeReplica() {
+        Flyway.configure()
+                .dataSource(replica.getPostgresDatabase())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        new JdbcTemplate(primary.getPostgresDatabase()).execute("CREATE PUBLICATION " + PUBLICATION + " FOR TABLE " + TABLES
+                + " WITH (publish_via_partition_root = true)");
+        new JdbcTemplate(replica.getPostgresDatabase()).execute("CREATE SUBSCRIPTION " + PUBLICATION
+                + " CONNECTION 'host=localhost port=" + primary.getPort() + " user=postgres dbname=postgres'"
+                + " PUBLICATION " + PUBLICATION);
+    }
+
+    void awaitReplicaCaughtUp(Duration timeout) throws InterruptedException {
+        JdbcTemplate primaryJdbc = new JdbcTemplate(primary.getPostgresDatabase());
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica.getPostgresDatabase());
+        String target = primaryJdbc.queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            Integer syncing = replicaJdbc.queryForObject(
+                    "SELECT count(*) FROM pg_subscription_rel WHERE srsubstate <> 'r'", Integer.class);
+            Boolean flushed = primaryJdbc.queryForObject(
+                    "SELECT coalesce(bool_and(confirmed_flush_lsn >= ?::pg_lsn), false) FROM pg_replication_slots"
+                            + " WHERE slot_name = ?", Boolean.class, target, PUBLICATION);
+            if (syncing == 0 && Boolean.TRUE.equals(flushed)) {
+                replicaJdbc.execute("ANALYZE");
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Replica did not catch up within " + timeout);
+    }
+
+    long replicaTableScans() {
+        return new JdbcTemplate(replica.getPostgresDatabase()).queryForObject(
+                "SELECT coalesce(sum(seq_scan + coalesce(idx_scan, 0)), 0) FROM pg_stat_user_tables", Long.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            new JdbcTemplate(replica.getPostgresDatabase()).execute("DROP SUBSCRIPTION IF EXISTS " + PUBLICATION);
+        } finally {
+            replica.close();
+            primary.close();
+        }
+    }
+
+}
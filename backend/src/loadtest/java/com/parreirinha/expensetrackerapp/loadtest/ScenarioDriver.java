@@ -0,0 +1,113 @@
+package com.parreirinha.expensetrackerapp.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class ScenarioDriver {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<String> tokens;
+    private final boolean conditional;
+
+    ScenarioDriver(String baseUrl, List<String> tokens, boolean conditional) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = baseUrl;
+        this.tokens = tokens;
+        this.conditional = conditional;
+    }
+
+    ScenarioResult run(String path, int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        drive(path, concurrency, warmup);
+        Recording recording = drive(path, concurrency, duration);
+        return ScenarioResult.of(path, concurrency, duration, recording.latencies(), recording.errors());
+    }
+
+    private Recording drive(String path, int concurrency, Duration duration) throws InterruptedException {
+        URI uri = URI.create(baseUrl + path);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<long[]> perWorker = new ArrayList<>(concurrency);
+        AtomicLong errors = new AtomicLong();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    LatencyBuffer latencies = new LatencyBuffer();
+                    Map<String, String> etags = new HashMap<>();
+                    while (System.nanoTime() < deadline) {
+                        String token = tokens.get(ThreadLocalRandom.current().nextInt(tokens.size()));
+                        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                                .header("Authorization", "Bearer " + token)
+                                .GET();
+                        String etag = etags.get(token);
+                        if (etag != null)
+                            request.header("If-None-Match", etag);
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200 || response.statusCode() == 304)
+                                latencies.add(System.nanoTime() - start);
+                            else
+                                errors.incrementAndGet();
+                            if (conditional)
+                                response.headers().firstValue("ETag").ifPresent(value -> etags.put(token, value));
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            break;
+                        }
+                    }
+                    synchronized (perWorker) {
+                        perWorker.add(latencies.toArray());
+                    }
+                    return null;
+                });
+            }
+        }
+        int total = perWorker.stream().mapToInt(latencies -> latencies.length).sum();
+        long[] merged = new long[total];
+        int offset = 0;
+        for (long[] latencies : perWorker) {
+            System.arraycopy(latencies, 0, merged, offset, latencies.length);
+            offset += latencies.length;
+        }
+        return new Recording(merged, errors.get());
+    }
+
+    private record Recording(long[] latencies, long errors) {
+    }
+
+    private static final class LatencyBuffer {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+    }
+
+}
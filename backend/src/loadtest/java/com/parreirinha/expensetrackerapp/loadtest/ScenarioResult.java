@@ -0,0 +1,34 @@
+package com.parreirinha.expensetrackerapp.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+
+record ScenarioResult(String name, int concurrency, Duration duration, long requests, long errors,
+                      double p50Millis, double p99Millis, double maxMillis) {
+
+    static ScenarioResult of(String name, int concurrency, Duration duration, long[] latenciesNanos, long errors) {
+        long[] sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        return new ScenarioResult(name, concurrency, duration, sorted.length, errors,
+                percentile(sorted, 0.50), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0);
+    }
+
+    double throughput() {
+        return requests / (duration.toNanos() / 1_000_000_000.0);
+    }
+
+    String toRow() {
+        return String.format(Locale.ROOT, "| %s | %d | %d | %d | %.1f | %.2f | %.2f | %.2f |",
+                name, concurrency, requests, errors, throughput(), p50Millis, p99Millis, maxMillis);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0)
+            return 0;
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+}
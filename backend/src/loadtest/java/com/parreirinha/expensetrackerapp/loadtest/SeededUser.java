@@ -0,0 +1,6 @@
+package com.parreirinha.expensetrackerapp.loadtest;
+
+import java.util.UUID;
+
+record SeededUser(UUID id, String keycloakId, String username) {
+}
@@ -1,117 +1,86 @@
 package com.parreirinha.expensetrackerapp.auth.service;
 
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
-import org.keycloak.admin.client.Keycloak;
-import org.keycloak.admin.client.resource.RealmResource;
-import org.keycloak.admin.client.resource.UserResource;
-import org.keycloak.admin.client.resource.UsersResource;
-import org.keycloak.representations.idm.UserRepresentation;
-import org.keycloak.representations.idm.CredentialRepresentation;
-import org.keycloak.representations.idm.RoleRepresentation;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.parreirinha.expensetrackerapp.auth.dto.LoginResponseDto;
+import com.parreirinha.expensetrackerapp.config.ShardTemplate;
 import com.parreirinha.expensetrackerapp.user.domain.User;
 import com.parreirinha.expensetrackerapp.user.dto.LoginUserDto;
 import com.parreirinha.expensetrackerapp.user.dto.RegisterUserDto;
 import com.parreirinha.expensetrackerapp.user.repository.UserRepository;
-
-import jakarta.transaction.Transactional;
-import jakarta.ws.rs.core.Response;
+import com.parreirinha.expensetrackerapp.user.service.UserIdentityService;
 
 @Service
 public class AuthenticationService {
 
+    private static final String USER_ROLE = "USER";
+
     private final UserRepository userRepository;
 
-    private final Keycloak keycloakAdminClient;
+    private final UserIdentityService userIdentityService;
 
-    @Value("${keycloak.realm}")
-    private String keycloakRealm;
+    private final KeycloakAdminGateway keycloakAdminGateway;
 
-    @Value("${keycloak.base-url}")
-    private String keycloakBaseUrl;
+    private final KeycloakGateway keycloakGateway;
 
-    @Value("${keycloak.client-id}")
-    private String keycloakClientId;
+    private final JwtDecoder jwtDecoder;
 
-    @Value("${keycloak.client-secret}")
-    private String keycloakClientSecret;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ShardTemplate shardTemplate;
 
     public AuthenticationService(
         UserRepository userRepository,
-        Keycloak keycloakAdminClient
+        UserIdentityService userIdentityService,
+        KeycloakAdminGateway keycloakAdminGateway,
+        KeycloakGateway keycloakGateway,
+        JwtDecoder jwtDecoder,
+        PlatformTransactionManager transactionManager,
+        ShardTemplate shardTemplate
     ) {
         this.userRepository = userRepository;
-        this.keycloakAdminClient = keycloakAdminClient;
+        this.userIdentityService = userIdentityService;
+        this.keycloakAdminGateway = keycloakAdminGateway;
+        this.keycloakGateway = keycloakGateway;
+        this.jwtDecoder = jwtDecoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardTemplate = shardTemplate;
     }
 
-    @Transactional
     public void register(RegisterUserDto registerUserDto) {
-        UserRepresentation userRepresentation = new UserRepresentation();
-        userRepresentation.setUsername(registerUserDto.username());
-        userRepresentation.setEmail(registerUserDto.email());
-        userRepresentation.setEmailVerified(true);
-        userRepresentation.setRequiredActions(Collections.emptyList());
-        userRepresentation.setEnabled(true);
-        RealmResource realmResource = keycloakAdminClient.realm(keycloakRealm);
-        UsersResource userResource = realmResource.users();
-        Response userResponse = userResource.create(userRepresentation);
-        if (userResponse.getStatus() != 201) {
-            throw new RuntimeException("Failed to create user on Keycloak: " + userResponse.getStatusInfo().getReasonPhrase());
+        String keycloakId = keycloakAdminGateway.createUser(
+            registerUserDto.username(),
+            registerUserDto.email(),
+            registerUserDto.password()
+        );
+        try {
+            // Synchronous so the first token issued after registration already carries the USER role. With the
+            // cached role lookup that is a second admin round-trip on the request; only deletes go through the outbox.
+            keycloakAdminGateway.assignRealmRole(keycloakId, keycloakAdminGateway.getRealmRole(USER_ROLE));
+            shardTemplate.run(shardTemplate.shardFor(keycloakId), () -> transactionTemplate.executeWithoutResult(status -> {
+                User user = new User();
+                user.setKeycloakId(keycloakId);
+                user.setUsername(registerUserDto.username());
+                user.setEmail(registerUserDto.email());
+                userRepository.save(user);
+            }));
+        } catch (RuntimeException e) {
+            keycloakAdminGateway.deleteUser(keycloakId);
+            throw e;
         }
-        String locationPath = userResponse.getLocation().getPath();
-        String keycloakId = locationPath.substring(locationPath.lastIndexOf('/') + 1);
-        CredentialRepresentation credential = new CredentialRepresentation();
-        credential.setType(CredentialRepresentation.PASSWORD);
-        credential.setValue(registerUserDto.password());
-        credential.setTemporary(false);
-        userResource.get(keycloakId).resetPassword(credential);
-        UserResource createdUserResource = userResource.get(keycloakId);
-        RoleRepresentation userRole = realmResource.roles().get("USER").toRepresentation();
-        createdUserResource.roles().realmLevel().add(List.of(userRole));
-        User user = new User();
-        user.setKeycloakId(keycloakId);
-        user.setUsername(registerUserDto.username());
-        user.setEmail(registerUserDto.email());
-        userRepository.save(user);
     }
 
     public LoginResponseDto authenticate(LoginUserDto loginUserDto) {
-        String tokenUrl = keycloakBaseUrl + "/realms/" + keycloakRealm + "/protocol/openid-connect/token";
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-        params.add("grant_type", "password");
-        params.add("client_id", keycloakClientId);
-        params.add("client_secret", keycloakClientSecret);
-        params.add("username", loginUserDto.username());
-        params.add("password", loginUserDto.password());
-        params.add("scope", "openid");
-        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
-        RestTemplate restTemplate = new RestTemplate();
-        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-            tokenUrl,
-            HttpMethod.POST,
-            request,
-            new ParameterizedTypeReference<Map<String, Object>>() {}
-        );
-        if (!response.getStatusCode().is2xxSuccessful())
-            throw new RuntimeException("Failed to authenticate: " + response.getBody());
-        Map<String, Object> body = response.getBody();
+        Map<String, Object> body = keycloakGateway.passwordGrant(loginUserDto.username(), loginUserDto.password());
+        if (body == null)
+            throw new RuntimeException("Failed to authenticate: empty response from Keycloak");
         String accessToken = (String) body.get("access_token");
         String refreshToken = (String) body.get("refresh_token");
         Integer expiresIn = (Integer) body.get("expires_in");
@@ -122,28 +91,25 @@ public class AuthenticationService {
     }
 
     private void syncUserFromToken(String accessToken) {
-        String url = keycloakBaseUrl + "/realms/" + keycloakRealm + "/protocol/openid-connect/userinfo";
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(accessToken);
-        HttpEntity<Void> request = new HttpEntity<>(headers);
-        RestTemplate restTemplate = new RestTemplate();
-        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-            url,
-            HttpMethod.GET,
-            request,
-            new ParameterizedTypeReference<Map<String, Object>>() {}
-        );
-        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-            Map<String, Object> userInfo = response.getBody();
-            String keycloakId = (String) userInfo.get("sub");
-            String username = (String) userInfo.get("preferred_username");
-            String email = (String) userInfo.get("email");
-            User user = userRepository.findByKeycloakId(keycloakId).orElseGet(User::new);
-            user.setKeycloakId(keycloakId);
-            user.setUsername(username);
-            user.setEmail(email);
-            userRepository.save(user);
-        }
+        Jwt jwt = jwtDecoder.decode(accessToken);
+        String keycloakId = jwt.getSubject();
+        String username = jwt.getClaimAsString("preferred_username");
+        String email = jwt.getClaimAsString("email");
+        shardTemplate.run(shardTemplate.shardFor(keycloakId), () -> syncUser(keycloakId, username, email));
+    }
+
+    private void syncUser(String keycloakId, String username, String email) {
+        User user = userRepository.findByKeycloakId(keycloakId).orElseGet(User::new);
+        if (user.getId() != null
+                && Objects.equals(user.getUsername(), username)
+                && Objects.equals(user.getEmail(), email))
+            return;
+        userIdentityService.evict(user.getUsername());
+        userIdentityService.evict(username);
+        user.setKeycloakId(keycloakId);
+        user.setUsername(username);
+        user.setEmail(email);
+        userRepository.save(user);
     }
     
 }
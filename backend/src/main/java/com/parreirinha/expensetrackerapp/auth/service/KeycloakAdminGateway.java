@@ -0,0 +1,99 @@
+package com.parreirinha.expensetrackerapp.auth.service;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.representations.idm.CredentialRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import jakarta.ws.rs.core.Response;
+
+@Service
+public class KeycloakAdminGateway {
+
+    public static final String REALM_ROLES_CACHE = "realmRoles";
+
+    private final Keycloak keycloakAdminClient;
+    private final ExecutorService keycloakAdminExecutor;
+
+    @Value("${keycloak.realm}")
+    private String keycloakRealm;
+
+    public KeycloakAdminGateway(Keycloak keycloakAdminClient,
+                                @Qualifier("keycloakAdminExecutor") ExecutorService keycloakAdminExecutor) {
+        this.keycloakAdminClient = keycloakAdminClient;
+        this.keycloakAdminExecutor = keycloakAdminExecutor;
+    }
+
+    public String createUser(String username, String email, String password) {
+        CredentialRepresentation credential = new CredentialRepresentation();
+        credential.setType(CredentialRepresentation.PASSWORD);
+        credential.setValue(password);
+        credential.setTemporary(false);
+        UserRepresentation userRepresentation = new UserRepresentation();
+        userRepresentation.setUsername(username);
+        userRepresentation.setEmail(email);
+        userRepresentation.setEmailVerified(true);
+        userRepresentation.setRequiredActions(List.of());
+        userRepresentation.setEnabled(true);
+        userRepresentation.setCredentials(List.of(credential));
+        return call(() -> {
+            try (Response response = realm().users().create(userRepresentation)) {
+                if (response.getStatus() != 201)
+                    throw new RuntimeException("Failed to create user on Keycloak: " + response.getStatusInfo().getReasonPhrase());
+                String locationPath = response.getLocation().getPath();
+                return locationPath.substring(locationPath.lastIndexOf('/') + 1);
+            }
+        });
+    }
+
+    @Cacheable(REALM_ROLES_CACHE)
+    public RoleRepresentation getRealmRole(String roleName) {
+        return call(() -> realm().roles().get(roleName).toRepresentation());
+    }
+
+    public void assignRealmRole(String keycloakId, RoleRepresentation role) {
+        call(() -> {
+            realm().users().get(keycloakId).roles().realmLevel().add(List.of(role));
+            return null;
+        });
+    }
+
+    public void deleteUser(String keycloakId) {
+        call(() -> {
+            try (Response response = realm().users().delete(keycloakId)) {
+                int status = response.getStatus();
+                if (status != 204 && status != 404)
+                    throw new RuntimeException("Failed to delete user on Keycloak: " + response.getStatusInfo().getReasonPhrase());
+            }
+            return null;
+        });
+    }
+
+    private <T> T call(Callable<T> adminCall) {
+        try {
+            return keycloakAdminExecutor.submit(adminCall).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime)
+                throw runtime;
+            throw new IllegalStateException("Keycloak admin call failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Keycloak", e);
+        }
+    }
+
+    private RealmResource realm() {
+        return keycloakAdminClient.realm(keycloakRealm);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.parreirinha.expensetrackerapp.auth.service;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+@Service
+public class KeycloakGateway {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT = new ParameterizedTypeReference<>() {};
+
+    private final RestClient keycloakRestClient;
+    private final String keycloakClientId;
+    private final String keycloakClientSecret;
+
+    public KeycloakGateway(
+        @Qualifier("keycloakRestClient") RestClient keycloakRestClient,
+        @Value("${keycloak.client-id}") String keycloakClientId,
+        @Value("${keycloak.client-secret}") String keycloakClientSecret
+    ) {
+        this.keycloakRestClient = keycloakRestClient;
+        this.keycloakClientId = keycloakClientId;
+        this.keycloakClientSecret = keycloakClientSecret;
+    }
+
+    public Map<String, Object> passwordGrant(String username, String password) {
+        MultiValueMap<String, String> params = passwordGrantParams(username, password);
+        params.add("scope", "openid");
+        return keycloakRestClient.post()
+            .uri("/token")
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+            .body(params)
+            .retrieve()
+            .body(JSON_OBJECT);
+    }
+
+    public boolean isPasswordValid(String username, String password) {
+        try {
+            return keycloakRestClient.post()
+                .uri("/token")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(passwordGrantParams(username, password))
+                .retrieve()
+                .toBodilessEntity()
+                .getStatusCode()
+                .is2xxSuccessful();
+        } catch (RestClientException e) {
+            return false;
+        }
+    }
+
+    private MultiValueMap<String, String> passwordGrantParams(String username, String password) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("grant_type", "password");
+        params.add("client_id", keycloakClientId);
+        params.add("client_secret", keycloakClientSecret);
+        params.add("username", username);
+        params.add("password", password);
+        return params;
+    }
+
+}
@@ -3,7 +3,10 @@ package com.parreirinha.expensetrackerapp.category.controller;
 import com.parreirinha.expensetrackerapp.category.dto.CategoryRequestDto;
 import com.parreirinha.expensetrackerapp.category.dto.CategoryResponseDto;
 import com.parreirinha.expensetrackerapp.category.service.CategoryService;
+import com.parreirinha.expensetrackerapp.user.service.UserDataVersionService;
+import com.parreirinha.expensetrackerapp.user.service.UserIdentityService;
 
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,6 +15,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,6 +23,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -30,32 +35,43 @@ import java.util.UUID;
 @RequestMapping("/categories")
 @Validated
 @RestController
+@Timed(value = "expensetracker.requests", histogram = true)
 public class CategoryController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final CategoryService categoryService;
+    private final UserIdentityService userIdentityService;
+    private final UserDataVersionService userDataVersionService;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, UserIdentityService userIdentityService,
+                              UserDataVersionService userDataVersionService) {
         this.categoryService = categoryService;
+        this.userIdentityService = userIdentityService;
+        this.userDataVersionService = userDataVersionService;
     }
 
     @PreAuthorize("hasRole('USER')")
     @GetMapping()
-    public ResponseEntity<List<CategoryResponseDto>> getCategories(@AuthenticationPrincipal Jwt jwt) {
-        return ResponseEntity.ok(categoryService.getCategories(jwt.getClaimAsString("preferred_username")));
+    public ResponseEntity<List<CategoryResponseDto>> getCategories(@AuthenticationPrincipal Jwt jwt, WebRequest request) {
+        UUID userId = userIdentityService.resolveUserId(jwt);
+        if (request.checkNotModified(userDataVersionService.etag(userId)))
+            return null;
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(categoryService.getCategories(userId));
     }
 
     @PreAuthorize("hasRole('USER')")
     @GetMapping("/{id}")
     public ResponseEntity<CategoryResponseDto> getCategory(@AuthenticationPrincipal Jwt jwt,
                                                                    @PathVariable @NotNull UUID id) {
-        return ResponseEntity.ok(categoryService.getCategory(jwt.getClaimAsString("preferred_username"), id));
+        return ResponseEntity.ok(categoryService.getCategory(userIdentityService.resolveUserId(jwt), id));
     }
 
     @PreAuthorize("hasRole('USER')")
     @PostMapping()
     public ResponseEntity<Void> createCategory(@AuthenticationPrincipal Jwt jwt,
                                                @RequestBody @Valid CategoryRequestDto dto) {
-        categoryService.createCategory(jwt.getClaimAsString("preferred_username"), dto);
+        categoryService.createCategory(userIdentityService.resolveUserId(jwt), dto);
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
@@ -64,7 +80,7 @@ public class CategoryController {
     public ResponseEntity<Void> updateCategory(@AuthenticationPrincipal Jwt jwt,
                                                @PathVariable @NotNull UUID id,
                                                @RequestBody @Valid CategoryRequestDto dto) {
-        categoryService.updateCategory(id, jwt.getClaimAsString("preferred_username"), dto);
+        categoryService.updateCategory(id, userIdentityService.resolveUserId(jwt), dto);
         return ResponseEntity.noContent().build();
     }
 
@@ -72,7 +88,7 @@ public class CategoryController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCategory(@AuthenticationPrincipal Jwt jwt,
                                                @PathVariable @NotNull UUID id) {
-        categoryService.deleteCategory(id, jwt.getClaimAsString("preferred_username"));
+        categoryService.deleteCategory(id, userIdentityService.resolveUserId(jwt));
         return ResponseEntity.noContent().build();
     }
 
@@ -7,6 +7,7 @@ import lombok.*;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = @Index(name = "idx_category_user", columnList = "user_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,7 +24,7 @@ public class Category {
     @Column(nullable = false, unique = true)
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
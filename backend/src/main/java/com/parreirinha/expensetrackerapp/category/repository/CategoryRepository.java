@@ -2,12 +2,23 @@ package com.parreirinha.expensetrackerapp.category.repository;
 
 import com.parreirinha.expensetrackerapp.category.domain.Category;
 import com.parreirinha.expensetrackerapp.user.domain.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
     List<Category> findByUser(User user);
+    List<Category> findByUserOrderByName(User user, Limit limit);
     void deleteByUser(User user);
+    Optional<Category> findByIdAndUserId(UUID id, UUID userId);
+
+    @Modifying
+    @Query("DELETE FROM Category c WHERE c.id = :id AND c.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
 }
@@ -5,15 +5,15 @@ import com.parreirinha.expensetrackerapp.category.dto.CategoryRequestDto;
 import com.parreirinha.expensetrackerapp.category.dto.CategoryResponseDto;
 import com.parreirinha.expensetrackerapp.category.mapper.CategoryMapper;
 import com.parreirinha.expensetrackerapp.category.repository.CategoryRepository;
-import com.parreirinha.expensetrackerapp.exceptions.ForbiddenException;
 import com.parreirinha.expensetrackerapp.exceptions.ResourceNotFoundException;
 import com.parreirinha.expensetrackerapp.transactions.repository.TransactionRepository;
+import com.parreirinha.expensetrackerapp.transactions.service.MonthlySummaryService;
 import com.parreirinha.expensetrackerapp.user.domain.User;
-import com.parreirinha.expensetrackerapp.user.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.parreirinha.expensetrackerapp.user.service.UserDataVersionService;
+import com.parreirinha.expensetrackerapp.user.service.UserIdentityService;
 
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -22,67 +22,68 @@ import java.util.UUID;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
-    private final UserRepository userRepository;
+    private final UserIdentityService userIdentityService;
     private final TransactionRepository transactionRepository;
     private final CategoryMapper categoryMapper;
+    private final MonthlySummaryService monthlySummaryService;
+    private final UserDataVersionService userDataVersionService;
 
     public CategoryService(CategoryRepository categoryRepository,
-                             UserRepository userRepository,
+                             UserIdentityService userIdentityService,
                              TransactionRepository transactionRepository,
-                             CategoryMapper categoryMapper) {
+                             CategoryMapper categoryMapper,
+                             MonthlySummaryService monthlySummaryService,
+                             UserDataVersionService userDataVersionService) {
         this.categoryRepository = categoryRepository;
-        this.userRepository = userRepository;
+        this.userIdentityService = userIdentityService;
         this.transactionRepository = transactionRepository;
         this.categoryMapper = categoryMapper;
+        this.monthlySummaryService = monthlySummaryService;
+        this.userDataVersionService = userDataVersionService;
     }
 
     @Transactional
-    public void createCategory(String username, CategoryRequestDto dto) {
-        User user = getUserByUsername(username);
+    public void createCategory(UUID userId, CategoryRequestDto dto) {
+        User user = userIdentityService.getUserReference(userId);
         Category category = categoryMapper.toCategory(dto);
         category.setUser(user);
         categoryRepository.save(category);
+        userDataVersionService.bump(userId);
     }
 
-    public List<CategoryResponseDto> getCategories(String username) {
-        User user = getUserByUsername(username);
+    @Transactional(readOnly = true)
+    public List<CategoryResponseDto> getCategories(UUID userId) {
+        User user = userIdentityService.getUserReference(userId);
         List<Category> categories = categoryRepository.findByUser(user);
         return categoryMapper.toCategoryResponseDtoList(categories);
     }
 
-    public CategoryResponseDto getCategory(String username, UUID id) {
-        Category category = findCategoryById(id);
-        if (!category.getUser().getUsername().equals(username))
-            throw new ForbiddenException("You do not have access to this category");
+    @Transactional(readOnly = true)
+    public CategoryResponseDto getCategory(UUID userId, UUID id) {
+        Category category = findCategoryById(id, userId);
         return categoryMapper.toCategoryResponseDto(category);
     }
 
     @Transactional
-    public void updateCategory(UUID id, String username, CategoryRequestDto dto) {
-        Category category = findCategoryById(id);
-        if (!category.getUser().getUsername().equals(username))
-            throw new ForbiddenException("You do not have permission to update this category");
+    public void updateCategory(UUID id, UUID userId, CategoryRequestDto dto) {
+        Category category = findCategoryById(id, userId);
         category.setName(dto.name());
         categoryRepository.save(category);
+        userDataVersionService.bump(userId);
     }
 
     @Transactional
-    public void deleteCategory(UUID id, String username) {
-        Category category = findCategoryById(id);
-        if (!category.getUser().getUsername().equals(username))
-            throw new ForbiddenException("You do not have permission to delete this category");
-        transactionRepository.unsetCategoryFromTransactions(category);
-        categoryRepository.delete(category);
+    public void deleteCategory(UUID id, UUID userId) {
+        transactionRepository.unsetCategoryFromTransactions(id, userId);
+        monthlySummaryService.unsetCategory(id, userId);
+        if (categoryRepository.deleteByIdAndUserId(id, userId) == 0)
+            throw new ResourceNotFoundException("Category not found");
+        userDataVersionService.bump(userId);
     }
 
-    private Category findCategoryById(UUID id) {
-        return categoryRepository.findById(id)
+    private Category findCategoryById(UUID id, UUID userId) {
+        return categoryRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-    }
-
 }
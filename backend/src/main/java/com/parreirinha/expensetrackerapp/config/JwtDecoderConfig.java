@@ -0,0 +1,66 @@
+package com.parreirinha.expensetrackerapp.config;
+
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Configuration
+public class JwtDecoderConfig {
+
+    public static final String JWT_AUTHENTICATIONS_CACHE = "jwtAuthentications";
+
+    @Bean
+    public JwtDecoder jwtDecoder(
+        @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+        @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+        @Value("${security.jwt.jwks.cache-ttl:5m}") Duration jwksCacheTtl,
+        @Value("${security.jwt.jwks.connect-timeout:2s}") Duration connectTimeout,
+        @Value("${security.jwt.jwks.read-timeout:5s}") Duration readTimeout
+    ) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(connectTimeout)
+            .build());
+        requestFactory.setReadTimeout(readTimeout);
+        NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withJwkSetUri(jwkSetUri)
+            .restOperations(new RestTemplate(requestFactory))
+            .cache(new CaffeineCache("jwks", Caffeine.newBuilder().expireAfterWrite(jwksCacheTtl).build()))
+            .build();
+        jwtDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return jwtDecoder;
+    }
+
+    @Bean
+    public CachingJwtAuthenticationManager jwtAuthenticationManager(
+        JwtDecoder jwtDecoder,
+        JwtAuthenticationConverter jwtAuthenticationConverter,
+        MeterRegistry meterRegistry,
+        @Value("${security.jwt.cache.maximum-size:10000}") long maximumSize,
+        @Value("${security.jwt.cache.max-ttl:5m}") Duration maxTtl
+    ) {
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(jwtDecoder);
+        provider.setJwtAuthenticationConverter(jwtAuthenticationConverter);
+        CachingJwtAuthenticationManager manager =
+            new CachingJwtAuthenticationManager(provider, maximumSize, maxTtl, Clock.systemUTC());
+        CaffeineCacheMetrics.monitor(meterRegistry, manager.getCache(), JWT_AUTHENTICATIONS_CACHE);
+        return manager;
+    }
+
+}
@@ -1,11 +1,15 @@
 package com.parreirinha.expensetrackerapp.config;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.keycloak.OAuth2Constants;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.KeycloakBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 @Configuration
 public class KeycloakAdminConfig {
@@ -22,6 +26,9 @@ public class KeycloakAdminConfig {
     @Value("${keycloak.admin-password}")
     private String keycloakAdminPassword;
 
+    @Value("${keycloak.admin.threads:4}")
+    private int keycloakAdminThreads;
+
     @Bean
     public Keycloak keycloakAdminClient() {
         return KeycloakBuilder.builder()
@@ -33,5 +40,15 @@ public class KeycloakAdminConfig {
             .password(keycloakAdminPassword)
             .build();
     }
-    
+
+    /**
+     * The admin client's TokenManager refreshes its token inside a synchronized block around the HTTP call, which
+     * pins the carrier when a virtual thread gets there. Admin calls run on these few platform threads instead;
+     * the caller only parks while it waits for the result.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService keycloakAdminExecutor() {
+        return Executors.newFixedThreadPool(keycloakAdminThreads, new CustomizableThreadFactory("keycloak-admin-"));
+    }
+
 }
@@ -0,0 +1,35 @@
+package com.parreirinha.expensetrackerapp.config;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class KeycloakHttpClientConfig {
+
+    @Bean
+    public RestClient keycloakRestClient(
+        RestClient.Builder builder,
+        @Value("${keycloak.base-url}") String keycloakBaseUrl,
+        @Value("${keycloak.realm}") String keycloakRealm,
+        @Value("${keycloak.http.connect-timeout:2s}") Duration connectTimeout,
+        @Value("${keycloak.http.read-timeout:5s}") Duration readTimeout
+    ) {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(connectTimeout)
+            .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return builder
+            .baseUrl(keycloakBaseUrl + "/realms/" + keycloakRealm + "/protocol/openid-connect")
+            .requestFactory(requestFactory)
+            .build();
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.parreirinha.expensetrackerapp.config;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * After a non-safe request, hands the client a Read-Your-Writes-Until cookie and response header. Browsers send
+ * the cookie back on their own; other clients can echo the header. While it is in force that client's reads go
+ * to the primary. The pin is counted from the start of the write.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final ReadYourWritesPolicy readYourWritesPolicy;
+
+    public ReadYourWritesFilter(ReadYourWritesPolicy readYourWritesPolicy) {
+        this.readYourWritesPolicy = readYourWritesPolicy;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !readYourWritesPolicy.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Instant now = Instant.now();
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            readYourWritesPolicy.pinCurrentRequest();
+            String pinUntil = readYourWritesPolicy.pinUntil(now);
+            response.setHeader(ReadYourWritesPolicy.PIN_NAME, pinUntil);
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(ReadYourWritesPolicy.PIN_NAME, pinUntil)
+                .path("/")
+                .maxAge(readYourWritesPolicy.pinDuration())
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .build()
+                .toString());
+        } else if (readYourWritesPolicy.isPinned(pinFrom(request), now)) {
+            readYourWritesPolicy.pinCurrentRequest();
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String pinFrom(HttpServletRequest request) {
+        String header = request.getHeader(ReadYourWritesPolicy.PIN_NAME);
+        if (header != null)
+            return header;
+        Cookie cookie = WebUtils.getCookie(request, ReadYourWritesPolicy.PIN_NAME);
+        return cookie == null ? null : cookie.getValue();
+    }
+
+}
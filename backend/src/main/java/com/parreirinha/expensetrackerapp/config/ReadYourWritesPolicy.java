@@ -0,0 +1,66 @@
+package com.parreirinha.expensetrackerapp.config;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Decides whether a read-only transaction may use the replica. The pin travels with the client, as a cookie
+ * (or header) holding the instant until which its reads stay on the primary, so it holds whichever instance
+ * serves the next request.
+ */
+public class ReadYourWritesPolicy {
+
+    public static final String PIN_NAME = "Read-Your-Writes-Until";
+
+    private static final String PINNED_ATTRIBUTE = ReadYourWritesPolicy.class.getName() + ".PINNED";
+
+    private final Duration pinDuration;
+
+    public ReadYourWritesPolicy(Duration pinDuration) {
+        this.pinDuration = pinDuration;
+    }
+
+    public boolean isEnabled() {
+        return !pinDuration.isZero();
+    }
+
+    public Duration pinDuration() {
+        return pinDuration;
+    }
+
+    /**
+     * Returns the value to hand the client after a write: the pin expiry in epoch milliseconds.
+     */
+    public String pinUntil(Instant now) {
+        return Long.toString(now.plus(pinDuration).toEpochMilli());
+    }
+
+    /**
+     * Whether a pin value sent back by the client is still in force. Anything unparseable counts as no pin; a
+     * forged value can only send that client's own reads to the primary.
+     */
+    public boolean isPinned(String pinUntil, Instant now) {
+        if (pinUntil == null)
+            return false;
+        try {
+            return now.toEpochMilli() < Long.parseLong(pinUntil.trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public void pinCurrentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null)
+            attributes.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    public boolean isCurrentRequestPinned() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+}
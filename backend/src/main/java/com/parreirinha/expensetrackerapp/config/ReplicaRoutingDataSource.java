@@ -0,0 +1,23 @@
+package com.parreirinha.expensetrackerapp.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private final ReadYourWritesPolicy readYourWritesPolicy;
+
+    public ReplicaRoutingDataSource(ReadYourWritesPolicy readYourWritesPolicy) {
+        this.readYourWritesPolicy = readYourWritesPolicy;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+            return Target.PRIMARY;
+        return readYourWritesPolicy.isCurrentRequestPinned() ? Target.PRIMARY : Target.REPLICA;
+    }
+
+}
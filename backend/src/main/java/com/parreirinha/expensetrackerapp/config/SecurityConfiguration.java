@@ -25,11 +25,12 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class SecurityConfiguration {
 
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    SecurityFilterChain securityFilterChain(HttpSecurity http, CachingJwtAuthenticationManager jwtAuthenticationManager) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**").permitAll()
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
                 .requestMatchers("/auth/**").permitAll() // Mantém os teus endpoints de auth abertos
                 .requestMatchers("/admin/**").hasRole("ADMIN")
                 .requestMatchers("/transactions/**").hasRole("USER")
@@ -37,7 +38,7 @@ public class SecurityConfiguration {
                 .anyRequest().authenticated()
             )
             .oauth2ResourceServer(oauth2 -> oauth2
-                .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter()))
+                .jwt(jwt -> jwt.authenticationManager(jwtAuthenticationManager))
             );
         return http.build();
     }
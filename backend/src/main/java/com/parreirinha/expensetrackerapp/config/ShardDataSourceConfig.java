@@ -0,0 +1,74 @@
+package com.parreirinha.expensetrackerapp.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+@Configuration
+@ConditionalOnExpression("!'${datasource.shards.names:}'.isBlank()")
+public class ShardDataSourceConfig {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardDirectory shardDirectory, Environment environment) {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        for (String shard : shardDirectory.shards())
+            targets.put(shard, shardDataSource(shard, environment));
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(shardDirectory);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(targets.get(shardDirectory.shards().get(0)));
+        routingDataSource.afterPropertiesSet();
+        shardDirectory.attach((DataSource) targets.get(shardDirectory.directoryShard()));
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public FlywayMigrationStrategy shardFlywayMigrationStrategy(ShardRoutingDataSource shardRoutingDataSource,
+                                                                ShardDirectory shardDirectory) {
+        return flyway -> {
+            Map<String, DataSource> shards = new LinkedHashMap<>();
+            shardRoutingDataSource.getResolvedDataSources().forEach((shard, dataSource) -> {
+                Flyway.configure()
+                    .configuration(flyway.getConfiguration())
+                    .dataSource(dataSource)
+                    .load()
+                    .migrate();
+                shards.put((String) shard, dataSource);
+            });
+            shardDirectory.verify(shards);
+        };
+    }
+
+    private static HikariDataSource shardDataSource(String shard, Environment environment) {
+        String prefix = "datasource.shards." + shard + ".";
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+            .url(environment.getRequiredProperty(prefix + "url"))
+            .username(environment.getProperty(prefix + "username", environment.getProperty("spring.datasource.username")))
+            .password(environment.getProperty(prefix + "password", environment.getProperty("spring.datasource.password")))
+            .build();
+        Binder.get(environment).bind("datasource.shards.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("expensetracker-" + shard);
+        return dataSource;
+    }
+
+}
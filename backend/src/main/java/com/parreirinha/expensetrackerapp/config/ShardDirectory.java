@@ -0,0 +1,185 @@
+package com.parreirinha.expensetrackerapp.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Maps a Keycloak id to the shard that holds the user's rows. Assignments are persisted in the shard_directory
+ * table on the directory shard, so changing DB_SHARDS never moves an existing user. The rendezvous hash only
+ * places users the directory has not seen yet.
+ */
+@Component
+public class ShardDirectory {
+
+    public static final String DEFAULT_SHARD = "default";
+
+    private static final Logger log = LoggerFactory.getLogger(ShardDirectory.class);
+
+    private final List<String> shards;
+    private final String directoryShard;
+    private final Cache<String, String> assignments;
+    private volatile JdbcTemplate directory;
+
+    public ShardDirectory(@Value("${datasource.shards.names:}") String names,
+                          @Value("${datasource.shards.directory:}") String directoryShard,
+                          @Value("${datasource.shards.directory-cache.maximum-size:100000}") long cacheSize,
+                          @Value("${datasource.shards.directory-cache.ttl:1m}") Duration cacheTtl) {
+        List<String> configured = Arrays.stream(StringUtils.commaDelimitedListToStringArray(names))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .distinct()
+            .toList();
+        this.shards = configured.isEmpty() ? List.of(DEFAULT_SHARD) : configured;
+        this.directoryShard = StringUtils.hasText(directoryShard) ? directoryShard.trim() : shards.get(0);
+        if (!shards.contains(this.directoryShard))
+            throw new IllegalStateException("Directory shard " + this.directoryShard + " is not one of " + shards);
+        this.assignments = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(cacheTtl)
+            .build();
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+
+    public boolean isSharded() {
+        return shards.size() > 1;
+    }
+
+    public String directoryShard() {
+        return directoryShard;
+    }
+
+    public void attach(DataSource directoryDataSource) {
+        this.directory = new JdbcTemplate(directoryDataSource);
+    }
+
+    /**
+     * Returns the shard that owns the user, recording a placement on first sight so later calls agree.
+     */
+    public String shardFor(String keycloakId) {
+        if (!isSharded() || keycloakId == null)
+            return shards.get(0);
+        return assignments.get(keycloakId, this::lookupOrAssign);
+    }
+
+    public void reassign(String keycloakId, String shard) {
+        if (!shards.contains(shard))
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        directory().update("UPDATE shard_directory SET shard = ? WHERE keycloak_id = ?", shard, keycloakId);
+        assignments.invalidate(keycloakId);
+    }
+
+    /**
+     * Drops a deleted user's assignment. Inside a transaction this waits for the commit, so a delete that rolls back
+     * keeps the user on its shard instead of letting the next lookup place it again.
+     */
+    public void forget(String keycloakId) {
+        if (!isSharded() || keycloakId == null)
+            return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(keycloakId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remove(keycloakId);
+            }
+        });
+    }
+
+    private void remove(String keycloakId) {
+        directory().update("DELETE FROM shard_directory WHERE keycloak_id = ?", keycloakId);
+        assignments.invalidate(keycloakId);
+    }
+
+    /**
+     * Runs after every shard is migrated. Refuses to start when the directory assigns users to a shard that is no
+     * longer configured, and seeds an empty directory from the users each shard already holds.
+     */
+    public void verify(Map<String, DataSource> shardDataSources) {
+        List<String> missing = directory().queryForList("SELECT DISTINCT shard FROM shard_directory", String.class)
+            .stream()
+            .filter(shard -> !shards.contains(shard))
+            .toList();
+        if (!missing.isEmpty())
+            throw new IllegalStateException("Shard directory assigns users to " + missing + ", which DB_SHARDS "
+                + shards + " no longer names. Restore those shards, or move their users off them before removing "
+                + "or renaming a shard.");
+        Integer assigned = directory().queryForObject("SELECT count(*) FROM (SELECT 1 FROM shard_directory LIMIT 1) d",
+            Integer.class);
+        if (assigned != null && assigned > 0)
+            return;
+        shardDataSources.forEach((shard, dataSource) -> {
+            List<String> keycloakIds = new JdbcTemplate(dataSource).queryForList(
+                "SELECT keycloak_id FROM users WHERE keycloak_id IS NOT NULL", String.class);
+            record(keycloakIds, shard);
+            log.info("Recorded {} existing users on shard {} in the shard directory", keycloakIds.size(), shard);
+        });
+    }
+
+    String placementFor(String keycloakId) {
+        String owner = null;
+        long best = Long.MIN_VALUE;
+        for (String shard : shards) {
+            long score = score(shard, keycloakId);
+            if (owner == null || score > best) {
+                owner = shard;
+                best = score;
+            }
+        }
+        return owner;
+    }
+
+    private String lookupOrAssign(String keycloakId) {
+        List<String> recorded = directory().queryForList(
+            "SELECT shard FROM shard_directory WHERE keycloak_id = ?", String.class, keycloakId);
+        if (!recorded.isEmpty())
+            return recorded.get(0);
+        record(List.of(keycloakId), placementFor(keycloakId));
+        return directory().queryForObject(
+            "SELECT shard FROM shard_directory WHERE keycloak_id = ?", String.class, keycloakId);
+    }
+
+    private void record(Collection<String> keycloakIds, String shard) {
+        directory().batchUpdate(
+            "INSERT INTO shard_directory (keycloak_id, shard) VALUES (?, ?) ON CONFLICT DO NOTHING",
+            keycloakIds.stream().map(keycloakId -> new Object[] {keycloakId, shard}).toList());
+    }
+
+    private JdbcTemplate directory() {
+        JdbcTemplate attached = directory;
+        if (attached == null)
+            throw new IllegalStateException("Shard directory is not attached to a data source");
+        return attached;
+    }
+
+    private static long score(String shard, String keycloakId) {
+        long h = shard.hashCode() * 0x9E3779B97F4A7C15L ^ keycloakId.hashCode();
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93E80A34E53L;
+        return h ^ (h >>> 33);
+    }
+
+}
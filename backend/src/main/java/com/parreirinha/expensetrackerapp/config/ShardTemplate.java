@@ -0,0 +1,69 @@
+package com.parreirinha.expensetrackerapp.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class ShardTemplate {
+
+    private final ShardDirectory shardDirectory;
+
+    public ShardTemplate(ShardDirectory shardDirectory) {
+        this.shardDirectory = shardDirectory;
+    }
+
+    public List<String> shards() {
+        return shardDirectory.shards();
+    }
+
+    public String shardFor(String keycloakId) {
+        return shardDirectory.shardFor(keycloakId);
+    }
+
+    public <T> T execute(String shard, Supplier<T> action) {
+        return ShardContext.callOn(shard, action);
+    }
+
+    public void run(String shard, Runnable action) {
+        ShardContext.callOn(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> List<T> executeOnEachShard(Supplier<T> action) {
+        if (!shardDirectory.isSharded())
+            return Collections.singletonList(execute(shardDirectory.shards().get(0), action));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> futures = shardDirectory.shards().stream()
+                .map(shard -> executor.submit(() -> execute(shard, action)))
+                .toList();
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures)
+                results.add(await(future));
+            return results;
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shard", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new IllegalStateException("Shard operation failed", e.getCause());
+        }
+    }
+
+}
@@ -1,7 +0,0 @@
-package com.parreirinha.expensetrackerapp.exceptions;
-
-public class ForbiddenException extends RuntimeException {
-    public ForbiddenException(String message) {
-        super(message);
-    }
-}
@@ -0,0 +1,6 @@
+package com.parreirinha.expensetrackerapp.outbox.domain;
+
+public enum OutboxEventStatus {
+    PENDING,
+    FAILED
+}
@@ -0,0 +1,5 @@
+package com.parreirinha.expensetrackerapp.outbox.domain;
+
+public enum OutboxEventType {
+    DELETE_KEYCLOAK_USER
+}
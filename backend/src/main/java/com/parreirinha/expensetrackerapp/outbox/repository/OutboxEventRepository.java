@@ -0,0 +1,31 @@
+package com.parreirinha.expensetrackerapp.outbox.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.parreirinha.expensetrackerapp.outbox.domain.OutboxEvent;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT e FROM OutboxEvent e
+            WHERE e.status = com.parreirinha.expensetrackerapp.outbox.domain.OutboxEventStatus.PENDING
+              AND e.availableAt <= :now
+            ORDER BY e.availableAt
+            """)
+    List<OutboxEvent> findDueForUpdateSkipLocked(@Param("now") Instant now, Limit limit);
+
+}
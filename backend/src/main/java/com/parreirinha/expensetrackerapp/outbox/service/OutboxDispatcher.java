@@ -0,0 +1,72 @@
+package com.parreirinha.expensetrackerapp.outbox.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.parreirinha.expensetrackerapp.auth.service.KeycloakAdminGateway;
+import com.parreirinha.expensetrackerapp.config.ShardTemplate;
+import com.parreirinha.expensetrackerapp.outbox.domain.OutboxEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxService outboxService;
+    private final KeycloakAdminGateway keycloakAdminGateway;
+    private final ShardTemplate shardTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${outbox.batch-size:50}")
+    private int batchSize;
+
+    public OutboxDispatcher(OutboxService outboxService, KeycloakAdminGateway keycloakAdminGateway,
+                            ShardTemplate shardTemplate, MeterRegistry meterRegistry) {
+        this.outboxService = outboxService;
+        this.keycloakAdminGateway = keycloakAdminGateway;
+        this.shardTemplate = shardTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        for (String shard : shardTemplate.shards())
+            shardTemplate.run(shard, this::dispatchCurrentShard);
+    }
+
+    private void dispatchCurrentShard() {
+        for (OutboxEvent event : outboxService.claim(batchSize)) {
+            try {
+                handle(event);
+                outboxService.complete(event.getId());
+            } catch (RuntimeException e) {
+                log.warn("Outbox event {} ({}) failed on attempt {}", event.getId(), event.getType(), event.getAttempts() + 1, e);
+                if (outboxService.fail(event.getId(), e.getMessage())) {
+                    log.error("Outbox event {} ({}) for {} gave up after {} attempts and is parked as FAILED",
+                            event.getId(), event.getType(), event.getPayload(), event.getAttempts() + 1);
+                    failedCounter(event).increment();
+                }
+            }
+        }
+    }
+
+    private Counter failedCounter(OutboxEvent event) {
+        return Counter.builder("outbox.events.failed")
+                .description("Outbox events that used up outbox.max-attempts and were parked as FAILED")
+                .tag("type", event.getType().name())
+                .register(meterRegistry);
+    }
+
+    private void handle(OutboxEvent event) {
+        switch (event.getType()) {
+            case DELETE_KEYCLOAK_USER -> keycloakAdminGateway.deleteUser(event.getPayload());
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.parreirinha.expensetrackerapp.outbox.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.parreirinha.expensetrackerapp.outbox.domain.OutboxEvent;
+import com.parreirinha.expensetrackerapp.outbox.domain.OutboxEventStatus;
+import com.parreirinha.expensetrackerapp.outbox.domain.OutboxEventType;
+import com.parreirinha.expensetrackerapp.outbox.repository.OutboxEventRepository;
+
+@Service
+public class OutboxService {
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.lease:60s}")
+    private Duration lease;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxEventType type, String payload) {
+        Instant now = Instant.now();
+        outboxEventRepository.save(new OutboxEvent(null, type, payload, OutboxEventStatus.PENDING, 0, now, now, null));
+    }
+
+    @Transactional
+    public List<OutboxEvent> claim(int batchSize) {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = outboxEventRepository.findDueForUpdateSkipLocked(now, Limit.of(batchSize));
+        events.forEach(event -> event.setAvailableAt(now.plus(lease)));
+        return events;
+    }
+
+    @Transactional
+    public void complete(UUID id) {
+        outboxEventRepository.deleteById(id);
+    }
+
+    /**
+     * Records a failed attempt and schedules a retry. Returns true when the event has used up outbox.max-attempts
+     * and is parked as FAILED, where it stays until someone resets it.
+     */
+    @Transactional
+    public boolean fail(UUID id, String error) {
+        return outboxEventRepository.findById(id).map(event -> {
+            int attempts = event.getAttempts() + 1;
+            Duration backoff = Duration.ofSeconds(1L << Math.min(attempts, 20));
+            event.setAttempts(attempts);
+            event.setAvailableAt(Instant.now().plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff));
+            event.setLastError(error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH));
+            if (attempts >= maxAttempts)
+                event.setStatus(OutboxEventStatus.FAILED);
+            return event.getStatus() == OutboxEventStatus.FAILED;
+        }).orElse(false);
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.parreirinha.expensetrackerapp.transactions.controller;
+
+import com.parreirinha.expensetrackerapp.transactions.service.MonthlySummaryService;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@Tag(name = "Summary Administration", description = "Admin endpoints to repair the monthly summary read model")
+@RequestMapping("/admin/summaries")
+@Validated
+@RestController
+public class MonthlySummaryAdminController {
+
+    private final MonthlySummaryService monthlySummaryService;
+
+    public MonthlySummaryAdminController(MonthlySummaryService monthlySummaryService) {
+        this.monthlySummaryService = monthlySummaryService;
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/rebuild")
+    public ResponseEntity<Integer> rebuildAll() {
+        return ResponseEntity.ok(monthlySummaryService.rebuildAll());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/rebuild/{userId}")
+    public ResponseEntity<Void> rebuild(@PathVariable @NotNull UUID userId) {
+        monthlySummaryService.rebuild(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+}
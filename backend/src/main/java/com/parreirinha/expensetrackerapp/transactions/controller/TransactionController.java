@@ -1,26 +1,49 @@
 package com.parreirinha.expensetrackerapp.transactions.controller;
 
+import com.parreirinha.expensetrackerapp.transactions.dto.ExportFormat;
+import com.parreirinha.expensetrackerapp.transactions.dto.SummaryGroupBy;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionFilterDto;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionImportResultDto;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionPageDto;
 import com.parreirinha.expensetrackerapp.transactions.dto.TransactionRequestDto;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionSummaryDto;
 import com.parreirinha.expensetrackerapp.transactions.dto.TransactionResponseDto;
+import com.parreirinha.expensetrackerapp.transactions.service.TransactionExportService;
+import com.parreirinha.expensetrackerapp.transactions.service.TransactionImportService;
 import com.parreirinha.expensetrackerapp.transactions.service.TransactionService;
+import com.parreirinha.expensetrackerapp.user.service.UserDataVersionService;
+import com.parreirinha.expensetrackerapp.user.service.UserIdentityService;
 
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
+import org.springdoc.core.annotations.ParameterObject;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,41 +54,102 @@ import java.util.UUID;
 @RequestMapping("/transactions")
 @Validated
 @RestController
+@Timed(value = "expensetracker.requests", histogram = true)
 public class TransactionController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionImportService transactionImportService;
+    private final UserIdentityService userIdentityService;
+    private final UserDataVersionService userDataVersionService;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 TransactionExportService transactionExportService,
+                                 TransactionImportService transactionImportService,
+                                 UserIdentityService userIdentityService,
+                                 UserDataVersionService userDataVersionService) {
         this.transactionService = transactionService;
+        this.transactionExportService = transactionExportService;
+        this.transactionImportService = transactionImportService;
+        this.userIdentityService = userIdentityService;
+        this.userDataVersionService = userDataVersionService;
     }
 
     @PreAuthorize("hasRole('USER')")
     @GetMapping()
-    public ResponseEntity<List<TransactionResponseDto>> getTransactions(@AuthenticationPrincipal Jwt jwt) {
-        return ResponseEntity.ok(transactionService.getTransactions(jwt.getClaimAsString("preferred_username")));
+    public ResponseEntity<TransactionPageDto> getTransactions(@AuthenticationPrincipal Jwt jwt,
+                                                              @ParameterObject TransactionFilterDto filter,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "50") @Min(1) @Max(MAX_PAGE_SIZE) int size,
+                                                              WebRequest request) {
+        UUID userId = userIdentityService.resolveUserId(jwt);
+        if (request.checkNotModified(userDataVersionService.etag(userId)))
+            return null;
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(transactionService.getTransactions(userId, filter, cursor, size));
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@AuthenticationPrincipal Jwt jwt,
+                                                                    @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        UUID userId = userIdentityService.resolveUserId(jwt);
+        StreamingResponseBody body = out -> transactionExportService.exportTransactions(userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/summary")
+    public ResponseEntity<List<TransactionSummaryDto>> getSummary(@AuthenticationPrincipal Jwt jwt,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                  @RequestParam(defaultValue = "category") String groupBy) {
+        return ResponseEntity.ok(transactionService.getSummary(
+                userIdentityService.resolveUserId(jwt), from, to, SummaryGroupBy.fromValue(groupBy)));
     }
 
     @PreAuthorize("hasRole('USER')")
     @GetMapping("/{id}")
     public ResponseEntity<TransactionResponseDto> getTransaction(@AuthenticationPrincipal Jwt jwt,
                                                                  @PathVariable @NotNull UUID id) {
-        return ResponseEntity.ok(transactionService.getTransaction(jwt.getClaimAsString("preferred_username"), id));
+        return ResponseEntity.ok(transactionService.getTransaction(userIdentityService.resolveUserId(jwt), id));
     }
 
     @PreAuthorize("hasRole('USER')")
     @PostMapping
     public ResponseEntity<Void> createTransaction(@AuthenticationPrincipal Jwt jwt,
                                                   @RequestBody @Valid TransactionRequestDto dto) {
-        transactionService.createTransaction(jwt.getClaimAsString("preferred_username"), dto);
+        transactionService.createTransaction(userIdentityService.resolveUserId(jwt), dto);
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TransactionImportResultDto> importTransactions(@AuthenticationPrincipal Jwt jwt,
+                                                                         InputStream json) {
+        return ResponseEntity.ok(transactionImportService.importJson(userIdentityService.resolveUserId(jwt), json));
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<TransactionImportResultDto> importTransactionsCsv(@AuthenticationPrincipal Jwt jwt,
+                                                                            InputStream csv) {
+        return ResponseEntity.ok(transactionImportService.importCsv(userIdentityService.resolveUserId(jwt), csv));
+    }
+
     @PreAuthorize("hasRole('USER')")
     @PutMapping("/{id}")
     public ResponseEntity<Void> updateTransaction(@AuthenticationPrincipal Jwt jwt,
                                                   @PathVariable @NotNull UUID id,
                                                   @RequestBody @Valid TransactionRequestDto dto) {
-        transactionService.updateTransaction(id, jwt.getClaimAsString("preferred_username"), dto);
+        transactionService.updateTransaction(id, userIdentityService.resolveUserId(jwt), dto);
         return ResponseEntity.noContent().build();
     }
 
@@ -73,14 +157,20 @@ public class TransactionController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTransaction(@AuthenticationPrincipal Jwt jwt,
                                                   @PathVariable @NotNull UUID id) {
-        transactionService.deleteTransaction(id, jwt.getClaimAsString("preferred_username"));
+        transactionService.deleteTransaction(id, userIdentityService.resolveUserId(jwt));
         return ResponseEntity.noContent().build();
     }
 
     @PreAuthorize("hasRole('USER')")
     @GetMapping("/balance")
-    public ResponseEntity<BigDecimal> getBalance(@AuthenticationPrincipal Jwt jwt) {
-        return ResponseEntity.ok(transactionService.getBalance(jwt.getClaimAsString("preferred_username")));
+    public ResponseEntity<BigDecimal> getBalance(@AuthenticationPrincipal Jwt jwt,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                 WebRequest request) {
+        UUID userId = userIdentityService.resolveUserId(jwt);
+        if (request.checkNotModified(userDataVersionService.etag(userId)))
+            return null;
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(transactionService.getBalance(userId, from, to));
     }
 
 }
@@ -0,0 +1,52 @@
+package com.parreirinha.expensetrackerapp.transactions.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private static final long UNIT = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Rounds to cents half-up, so 10.005 is stored as 10.01.
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return toMinorUnits(amount, RoundingMode.HALF_UP);
+    }
+
+    public static long toMinorUnits(BigDecimal amount, RoundingMode roundingMode) {
+        try {
+            return amount.setScale(SCALE, roundingMode).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString() + " is out of range");
+        }
+    }
+
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static StringBuilder appendTo(StringBuilder out, long minorUnits) {
+        if (minorUnits == Long.MIN_VALUE)
+            return out.append(toDecimal(minorUnits).toPlainString());
+        if (minorUnits < 0) {
+            out.append('-');
+            minorUnits = -minorUnits;
+        }
+        long fraction = minorUnits % UNIT;
+        out.append(minorUnits / UNIT).append('.');
+        for (long digit = UNIT / 10; digit > 1 && fraction < digit; digit /= 10)
+            out.append('0');
+        return out.append(fraction);
+    }
+
+    public static String format(long minorUnits) {
+        return appendTo(new StringBuilder(24), minorUnits).toString();
+    }
+
+}
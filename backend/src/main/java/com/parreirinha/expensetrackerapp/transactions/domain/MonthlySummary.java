@@ -0,0 +1,62 @@
+package com.parreirinha.expensetrackerapp.transactions.domain;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.parreirinha.expensetrackerapp.user.domain.User;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.*;
+
+@Entity
+// The unique bucket key (user_id, month_start, COALESCE(category_id, nil UUID), type) is an expression index
+// created in V1; writes upsert against it.
+@Table(name = "monthly_summary", indexes = {
+        @Index(name = "idx_monthly_summary_bucket", columnList = "user_id, month_start, category_id, type"),
+        @Index(name = "idx_monthly_summary_category", columnList = "category_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "user")
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class MonthlySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @EqualsAndHashCode.Include
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate month;
+
+    @Column(name = "category_id")
+    private UUID categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(name = "total_minor", nullable = false)
+    private long totalMinor;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+}
@@ -1,6 +1,5 @@
 package com.parreirinha.expensetrackerapp.transactions.domain;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -11,14 +10,25 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.Table;
 import lombok.*;
 
+import org.hibernate.annotations.UuidGenerator;
+
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_transaction_user_date", columnList = "user_id, date DESC, id DESC"),
+        @Index(name = "idx_transaction_category", columnList = "category_id")
+})
+@NamedEntityGraph(name = Transaction.WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,8 +37,11 @@ import lombok.*;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Transaction {
 
+    public static final String WITH_CATEGORY = "Transaction.withCategory";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.TIME)
     @EqualsAndHashCode.Include
     private UUID id;
 
@@ -36,17 +49,17 @@ public class Transaction {
     @Column(nullable = false)
     private TransactionType type;
 
-    @Column(nullable = false)
-    private BigDecimal amount;
+    @Column(name = "amount_minor", nullable = false)
+    private long amountMinor;
 
     @Column(nullable = false)
     private LocalDate date;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
@@ -0,0 +1,21 @@
+package com.parreirinha.expensetrackerapp.transactions.dto;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.parreirinha.expensetrackerapp.transactions.domain.Money;
+
+public class MinorUnitsJsonSerializer extends StdSerializer<Long> {
+
+    public MinorUnitsJsonSerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long minorUnits, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeNumber(Money.format(minorUnits));
+    }
+
+}
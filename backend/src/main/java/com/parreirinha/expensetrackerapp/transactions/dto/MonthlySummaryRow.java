@@ -0,0 +1,14 @@
+package com.parreirinha.expensetrackerapp.transactions.dto;
+
+import java.util.UUID;
+
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+
+public record MonthlySummaryRow(
+        Integer year,
+        Integer month,
+        UUID categoryId,
+        TransactionType type,
+        Long total,
+        Long count
+) {}
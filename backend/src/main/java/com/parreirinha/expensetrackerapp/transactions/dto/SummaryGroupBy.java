@@ -0,0 +1,16 @@
+package com.parreirinha.expensetrackerapp.transactions.dto;
+
+import java.util.Arrays;
+
+public enum SummaryGroupBy {
+    CATEGORY,
+    MONTH,
+    TYPE;
+
+    public static SummaryGroupBy fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(groupBy -> groupBy.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported groupBy: " + value));
+    }
+}
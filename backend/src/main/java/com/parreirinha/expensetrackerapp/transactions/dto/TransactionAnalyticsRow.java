@@ -0,0 +1,13 @@
+package com.parreirinha.expensetrackerapp.transactions.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+
+public record TransactionAnalyticsRow(
+        long amount,
+        LocalDate date,
+        TransactionType type,
+        UUID categoryId
+) {}
@@ -0,0 +1,16 @@
+package com.parreirinha.expensetrackerapp.transactions.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+
+public record TransactionExportRow(
+        UUID id,
+        LocalDate date,
+        TransactionType type,
+        @JsonSerialize(using = MinorUnitsJsonSerializer.class) long amount,
+        UUID categoryId,
+        String categoryName
+) {}
@@ -0,0 +1,28 @@
+package com.parreirinha.expensetrackerapp.transactions.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record TransactionFilterDto(
+        @Schema(example = "2025-01-01")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate from,
+        @Schema(example = "2025-12-31")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate to,
+        @Schema(example = "EXPENSE")
+        TransactionType type,
+        @Schema(example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+        UUID categoryId,
+        @Schema(example = "10.00")
+        BigDecimal minAmount,
+        @Schema(example = "500.00")
+        BigDecimal maxAmount
+) {}
@@ -0,0 +1,6 @@
+package com.parreirinha.expensetrackerapp.transactions.dto;
+
+public record TransactionImportErrorDto(
+        long row,
+        String message
+) {}
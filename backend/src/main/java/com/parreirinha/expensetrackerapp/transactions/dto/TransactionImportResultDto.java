@@ -0,0 +1,9 @@
+package com.parreirinha.expensetrackerapp.transactions.dto;
+
+import java.util.List;
+
+public record TransactionImportResultDto(
+        long imported,
+        long failed,
+        List<TransactionImportErrorDto> errors
+) {}
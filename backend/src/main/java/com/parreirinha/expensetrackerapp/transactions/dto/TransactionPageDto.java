@@ -0,0 +1,8 @@
+package com.parreirinha.expensetrackerapp.transactions.dto;
+
+import java.util.List;
+
+public record TransactionPageDto(
+        List<TransactionResponseDto> items,
+        String nextCursor
+) {}
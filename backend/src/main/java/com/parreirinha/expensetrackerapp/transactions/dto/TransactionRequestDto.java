@@ -8,6 +8,7 @@ import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
 
@@ -15,6 +16,7 @@ public record TransactionRequestDto(
         @Schema(example = "100.00")
         @NotNull(message = "Amount is required")
         @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+        @Digits(integer = 16, fraction = 10, message = "Amount must have at most 16 integer digits and 10 decimals")
         BigDecimal amount,
         @Schema(example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
         UUID categoryId,
@@ -0,0 +1,12 @@
+package com.parreirinha.expensetrackerapp.transactions.dto;
+
+import java.math.BigDecimal;
+
+public record TransactionSummaryDto(
+        String key,
+        String label,
+        BigDecimal income,
+        BigDecimal expense,
+        BigDecimal net,
+        long count
+) {}
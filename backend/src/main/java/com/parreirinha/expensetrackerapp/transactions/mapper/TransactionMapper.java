@@ -1,6 +1,7 @@
 package com.parreirinha.expensetrackerapp.transactions.mapper;
 
 import com.parreirinha.expensetrackerapp.category.mapper.CategoryMapper;
+import com.parreirinha.expensetrackerapp.transactions.domain.Money;
 import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
 import com.parreirinha.expensetrackerapp.transactions.dto.TransactionRequestDto;
 import com.parreirinha.expensetrackerapp.transactions.dto.TransactionResponseDto;
@@ -9,14 +10,16 @@ import org.mapstruct.Mapping;
 
 import java.util.List;
 
-@Mapper(uses = CategoryMapper.class, componentModel = "spring")
+@Mapper(uses = CategoryMapper.class, componentModel = "spring", imports = Money.class)
 public interface TransactionMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "category", ignore = true)
+    @Mapping(target = "amountMinor", expression = "java(Money.toMinorUnits(dto.amount()))")
     Transaction toTransaction(TransactionRequestDto dto);
 
+    @Mapping(target = "amount", expression = "java(Money.toDecimal(transaction.getAmountMinor()))")
     TransactionResponseDto toTransactionResponseDto(Transaction transaction);
 
     List<TransactionResponseDto> toTransactionResponseDtoList(List<Transaction> transactions);
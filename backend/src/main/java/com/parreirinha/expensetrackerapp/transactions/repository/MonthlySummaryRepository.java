@@ -0,0 +1,73 @@
+package com.parreirinha.expensetrackerapp.transactions.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.parreirinha.expensetrackerapp.transactions.domain.MonthlySummary;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.user.domain.User;
+
+public interface MonthlySummaryRepository extends JpaRepository<MonthlySummary, UUID> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO monthly_summary (id, user_id, month_start, category_id, type, total_minor, transaction_count)
+            VALUES (gen_random_uuid(), :userId, :month, :categoryId, :type, :amount, :count)
+            ON CONFLICT (user_id, month_start, COALESCE(category_id, CAST('00000000-0000-0000-0000-000000000000' AS uuid)), type)
+            DO UPDATE SET total_minor = monthly_summary.total_minor + EXCLUDED.total_minor,
+                          transaction_count = monthly_summary.transaction_count + EXCLUDED.transaction_count
+            """, nativeQuery = true)
+    void applyDelta(@Param("userId") UUID userId,
+                    @Param("month") LocalDate month,
+                    @Param("categoryId") UUID categoryId,
+                    @Param("type") String type,
+                    @Param("amount") long amount,
+                    @Param("count") long count);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM monthly_summary
+            WHERE user_id = :userId AND month_start = :month AND type = :type AND transaction_count = 0
+            """, nativeQuery = true)
+    void deleteEmptyBuckets(@Param("userId") UUID userId,
+                            @Param("month") LocalDate month,
+                            @Param("type") String type);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO monthly_summary (id, user_id, month_start, category_id, type, total_minor, transaction_count)
+            SELECT gen_random_uuid(), s.user_id, s.month_start, NULL, s.type, s.total_minor, s.transaction_count
+            FROM monthly_summary s
+            JOIN category c ON c.id = s.category_id
+            WHERE c.id = :categoryId AND c.user_id = :userId
+            ON CONFLICT (user_id, month_start, COALESCE(category_id, CAST('00000000-0000-0000-0000-000000000000' AS uuid)), type)
+            DO UPDATE SET total_minor = monthly_summary.total_minor + EXCLUDED.total_minor,
+                          transaction_count = monthly_summary.transaction_count + EXCLUDED.transaction_count
+            """, nativeQuery = true)
+    void foldCategoryIntoUncategorized(@Param("categoryId") UUID categoryId, @Param("userId") UUID userId);
+
+    @Modifying
+    @Query("""
+            DELETE FROM MonthlySummary s
+            WHERE s.categoryId IN (SELECT c.id FROM Category c WHERE c.id = :categoryId AND c.user.id = :userId)
+            """)
+    void deleteByCategory(@Param("categoryId") UUID categoryId, @Param("userId") UUID userId);
+
+    @Modifying
+    @Query("DELETE FROM MonthlySummary s WHERE s.user = :user")
+    void deleteByUser(@Param("user") User user);
+
+    @Query("""
+            SELECT COALESCE(SUM(CASE WHEN s.type = com.parreirinha.expensetrackerapp.transactions.domain.TransactionType.INCOME
+                                     THEN s.totalMinor ELSE -s.totalMinor END), 0L)
+            FROM MonthlySummary s
+            WHERE s.user = :user
+            """)
+    long getBalanceByUser(@Param("user") User user);
+
+}
@@ -1,22 +1,168 @@
 package com.parreirinha.expensetrackerapp.transactions.repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import com.parreirinha.expensetrackerapp.category.domain.Category;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.transactions.dto.MonthlySummaryRow;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionAnalyticsRow;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionExportRow;
+import com.parreirinha.expensetrackerapp.transactions.repository.projection.CategoryTotals;
+import com.parreirinha.expensetrackerapp.transactions.repository.projection.MonthTotals;
+import com.parreirinha.expensetrackerapp.transactions.repository.projection.TransactionSnapshot;
+import com.parreirinha.expensetrackerapp.transactions.repository.projection.TypeTotals;
 import com.parreirinha.expensetrackerapp.user.domain.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
-import com.parreirinha.expensetrackerapp.category.domain.Category;
 
 
-public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
+public interface TransactionRepository extends JpaRepository<Transaction, UUID>, JpaSpecificationExecutor<Transaction> {
     List<Transaction> findByUser(User user);
-    void deleteByUser(User user);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.user = :user")
+    void deleteByUser(@Param("user") User user);
+
+    @EntityGraph(Transaction.WITH_CATEGORY)
+    Optional<Transaction> findByIdAndUserId(UUID id, UUID userId);
+
+    @Query("""
+            SELECT t.date AS date, c.id AS categoryId, t.type AS type, t.amountMinor AS amountMinor
+            FROM Transaction t LEFT JOIN t.category c
+            WHERE t.id = :id AND t.user.id = :userId
+            """)
+    Optional<TransactionSnapshot> findSnapshotByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    // Writes by the full (id, user_id, date) key so PostgreSQL prunes to one leaf partition; an entity update or
+    // delete only carries the id and would probe every leaf.
     @Modifying
-    @Query("UPDATE Transaction t SET t.category = null WHERE t.category = :category")
-    void unsetCategoryFromTransactions(@Param("category") Category category);
+    @Query("DELETE FROM Transaction t WHERE t.id = :id AND t.user.id = :userId AND t.date = :date")
+    int deleteByIdAndUserIdAndDate(@Param("id") UUID id, @Param("userId") UUID userId, @Param("date") LocalDate date);
+
+    @Modifying
+    @Query("""
+            UPDATE Transaction t
+            SET t.type = :type, t.amountMinor = :amountMinor, t.category = :category, t.date = :newDate
+            WHERE t.id = :id AND t.user.id = :userId AND t.date = :date
+            """)
+    int updateByIdAndUserIdAndDate(@Param("id") UUID id,
+                                   @Param("userId") UUID userId,
+                                   @Param("date") LocalDate date,
+                                   @Param("type") TransactionType type,
+                                   @Param("amountMinor") long amountMinor,
+                                   @Param("category") Category category,
+                                   @Param("newDate") LocalDate newDate);
+
+    @Modifying
+    @Query("""
+            UPDATE Transaction t SET t.category = null
+            WHERE t.user.id = :userId
+              AND t.category.id IN (SELECT c.id FROM Category c WHERE c.id = :categoryId AND c.user.id = :userId)
+            """)
+    void unsetCategoryFromTransactions(@Param("categoryId") UUID categoryId, @Param("userId") UUID userId);
+
+    @Query("""
+            SELECT COALESCE(SUM(CASE WHEN t.type = com.parreirinha.expensetrackerapp.transactions.domain.TransactionType.INCOME
+                                     THEN t.amountMinor ELSE -t.amountMinor END), 0L)
+            FROM Transaction t
+            WHERE t.user = :user
+            """)
+    long getBalanceByUser(@Param("user") User user);
+
+    @Query("""
+            SELECT COALESCE(SUM(CASE WHEN t.type = com.parreirinha.expensetrackerapp.transactions.domain.TransactionType.INCOME
+                                     THEN t.amountMinor ELSE -t.amountMinor END), 0L)
+            FROM Transaction t
+            WHERE t.user = :user AND t.date BETWEEN :from AND :to
+            """)
+    long getBalanceByUserAndDateBetween(@Param("user") User user,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new com.parreirinha.expensetrackerapp.transactions.dto.TransactionExportRow(
+                       t.id, t.date, t.type, t.amountMinor, c.id, c.name)
+            FROM Transaction t LEFT JOIN t.category c
+            WHERE t.user = :user
+            ORDER BY t.date, t.id
+            """)
+    Stream<TransactionExportRow> streamExportRowsByUser(@Param("user") User user);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new com.parreirinha.expensetrackerapp.transactions.dto.TransactionAnalyticsRow(
+                       t.amountMinor, t.date, t.type, t.category.id)
+            FROM Transaction t
+            WHERE t.user = :user
+            ORDER BY t.date
+            """)
+    Stream<TransactionAnalyticsRow> streamAnalyticsRowsByUser(@Param("user") User user);
+
+    @Query("""
+            SELECT new com.parreirinha.expensetrackerapp.transactions.dto.MonthlySummaryRow(
+                       year(t.date), month(t.date), c.id, t.type, SUM(t.amountMinor), COUNT(t))
+            FROM Transaction t LEFT JOIN t.category c
+            WHERE t.user = :user
+            GROUP BY year(t.date), month(t.date), c.id, t.type
+            """)
+    List<MonthlySummaryRow> summarizeByMonth(@Param("user") User user);
+
+    @Query("""
+            SELECT c.id AS categoryId, c.name AS categoryName,
+                   COALESCE(SUM(CASE WHEN t.type = com.parreirinha.expensetrackerapp.transactions.domain.TransactionType.INCOME THEN t.amountMinor ELSE 0L END), 0L) AS income,
+                   COALESCE(SUM(CASE WHEN t.type = com.parreirinha.expensetrackerapp.transactions.domain.TransactionType.EXPENSE THEN t.amountMinor ELSE 0L END), 0L) AS expense,
+                   COUNT(t) AS count
+            FROM Transaction t LEFT JOIN t.category c
+            WHERE t.user = :user AND t.date BETWEEN :from AND :to
+            GROUP BY c.id, c.name
+            ORDER BY c.name NULLS LAST
+            """)
+    List<CategoryTotals> sumByCategory(@Param("user") User user,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+
+    @Query("""
+            SELECT year(t.date) AS periodYear, month(t.date) AS periodMonth,
+                   COALESCE(SUM(CASE WHEN t.type = com.parreirinha.expensetrackerapp.transactions.domain.TransactionType.INCOME THEN t.amountMinor ELSE 0L END), 0L) AS income,
+                   COALESCE(SUM(CASE WHEN t.type = com.parreirinha.expensetrackerapp.transactions.domain.TransactionType.EXPENSE THEN t.amountMinor ELSE 0L END), 0L) AS expense,
+                   COUNT(t) AS count
+            FROM Transaction t
+            WHERE t.user = :user AND t.date BETWEEN :from AND :to
+            GROUP BY year(t.date), month(t.date)
+            ORDER BY year(t.date), month(t.date)
+            """)
+    List<MonthTotals> sumByMonth(@Param("user") User user,
+                                 @Param("from") LocalDate from,
+                                 @Param("to") LocalDate to);
+
+    @Query("""
+            SELECT t.type AS type, SUM(t.amountMinor) AS total, COUNT(t) AS count
+            FROM Transaction t
+            WHERE t.user = :user AND t.date BETWEEN :from AND :to
+            GROUP BY t.type
+            ORDER BY t.type
+            """)
+    List<TypeTotals> sumByType(@Param("user") User user,
+                               @Param("from") LocalDate from,
+                               @Param("to") LocalDate to);
 }
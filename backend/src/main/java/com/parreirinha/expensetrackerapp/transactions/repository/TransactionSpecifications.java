@@ -0,0 +1,73 @@
+package com.parreirinha.expensetrackerapp.transactions.repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.parreirinha.expensetrackerapp.transactions.domain.Money;
+import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionCursor;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionFilterDto;
+import com.parreirinha.expensetrackerapp.user.domain.User;
+
+public final class TransactionSpecifications {
+
+    public static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<Transaction> matching(User user, TransactionFilterDto filter) {
+        return Specification.where(ownedBy(user))
+                .and(dateFrom(filter.from()))
+                .and(dateTo(filter.to()))
+                .and(hasType(filter.type()))
+                .and(hasCategory(filter.categoryId()))
+                .and(amountAtLeast(filter.minAmount()))
+                .and(amountAtMost(filter.maxAmount()));
+    }
+
+    public static Specification<Transaction> ownedBy(User user) {
+        return (root, query, cb) -> cb.equal(root.get("user"), user);
+    }
+
+    public static Specification<Transaction> dateFrom(LocalDate from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("date"), from);
+    }
+
+    public static Specification<Transaction> dateTo(LocalDate to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThanOrEqualTo(root.get("date"), to);
+    }
+
+    public static Specification<Transaction> hasType(TransactionType type) {
+        return (root, query, cb) -> type == null ? null : cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Transaction> hasCategory(UUID categoryId) {
+        return (root, query, cb) -> categoryId == null ? null : cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<Transaction> amountAtLeast(BigDecimal minAmount) {
+        return (root, query, cb) -> minAmount == null ? null
+                : cb.greaterThanOrEqualTo(root.get("amountMinor"), Money.toMinorUnits(minAmount, RoundingMode.CEILING));
+    }
+
+    public static Specification<Transaction> amountAtMost(BigDecimal maxAmount) {
+        return (root, query, cb) -> maxAmount == null ? null
+                : cb.lessThanOrEqualTo(root.get("amountMinor"), Money.toMinorUnits(maxAmount, RoundingMode.FLOOR));
+    }
+
+    public static Specification<Transaction> after(TransactionCursor cursor) {
+        return (root, query, cb) -> cursor == null ? null : cb.and(
+                cb.lessThanOrEqualTo(root.get("date"), cursor.date()),
+                cb.or(
+                        cb.lessThan(root.get("date"), cursor.date()),
+                        cb.lessThan(root.<UUID>get("id"), cursor.id())));
+    }
+
+}
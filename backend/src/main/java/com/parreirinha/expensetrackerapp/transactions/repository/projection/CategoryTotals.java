@@ -0,0 +1,11 @@
+package com.parreirinha.expensetrackerapp.transactions.repository.projection;
+
+import java.util.UUID;
+
+public interface CategoryTotals {
+    UUID getCategoryId();
+    String getCategoryName();
+    long getIncome();
+    long getExpense();
+    long getCount();
+}
@@ -0,0 +1,9 @@
+package com.parreirinha.expensetrackerapp.transactions.repository.projection;
+
+public interface MonthTotals {
+    int getPeriodYear();
+    int getPeriodMonth();
+    long getIncome();
+    long getExpense();
+    long getCount();
+}
@@ -0,0 +1,13 @@
+package com.parreirinha.expensetrackerapp.transactions.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+
+public interface TransactionSnapshot {
+    LocalDate getDate();
+    UUID getCategoryId();
+    TransactionType getType();
+    long getAmountMinor();
+}
@@ -0,0 +1,9 @@
+package com.parreirinha.expensetrackerapp.transactions.repository.projection;
+
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+
+public interface TypeTotals {
+    TransactionType getType();
+    long getTotal();
+    long getCount();
+}
@@ -0,0 +1,186 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.parreirinha.expensetrackerapp.config.ShardTemplate;
+import com.parreirinha.expensetrackerapp.transactions.domain.Money;
+import com.parreirinha.expensetrackerapp.transactions.domain.MonthlySummary;
+import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.transactions.dto.MonthlySummaryRow;
+import com.parreirinha.expensetrackerapp.transactions.repository.MonthlySummaryRepository;
+import com.parreirinha.expensetrackerapp.transactions.repository.TransactionRepository;
+import com.parreirinha.expensetrackerapp.transactions.repository.projection.TransactionSnapshot;
+import com.parreirinha.expensetrackerapp.user.domain.User;
+import com.parreirinha.expensetrackerapp.user.repository.UserRepository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class MonthlySummaryService {
+
+    // Writers take the user's summary lock shared before they touch a bucket, and a rebuild takes it exclusively.
+    // A rebuild therefore waits for writers that already applied a delta to commit, and writers that arrive later
+    // apply theirs on top of the rebuilt rows. Both locks are released when the transaction ends.
+    private static final String LOCK_SHARED =
+            "SELECT pg_advisory_xact_lock_shared(hashtext('monthly_summary'), hashtext(?))";
+    private static final String LOCK_EXCLUSIVE =
+            "SELECT pg_advisory_xact_lock(hashtext('monthly_summary'), hashtext(?))";
+
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardTemplate shardTemplate;
+
+    public MonthlySummaryService(MonthlySummaryRepository monthlySummaryRepository,
+                                 TransactionRepository transactionRepository,
+                                 UserRepository userRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ShardTemplate shardTemplate) {
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardTemplate = shardTemplate;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Transaction transaction) {
+        lock(transaction.getUser().getId(), LOCK_SHARED);
+        apply(transaction, transaction.getAmountMinor(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void subtract(Transaction transaction) {
+        lock(transaction.getUser().getId(), LOCK_SHARED);
+        apply(transaction, -transaction.getAmountMinor(), -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void subtract(User user, TransactionSnapshot snapshot) {
+        lock(user.getId(), LOCK_SHARED);
+        applyDelta(user, Bucket.of(snapshot), -snapshot.getAmountMinor(), -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(Collection<Transaction> transactions) {
+        if (transactions.isEmpty())
+            return;
+        Map<Bucket, Delta> deltas = new LinkedHashMap<>();
+        for (Transaction transaction : transactions)
+            deltas.merge(Bucket.of(transaction), new Delta(transaction.getAmountMinor(), 1), Delta::plus);
+        User user = transactions.iterator().next().getUser();
+        lock(user.getId(), LOCK_SHARED);
+        deltas.forEach((bucket, delta) -> applyDelta(user, bucket, delta.amount(), delta.count()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void unsetCategory(UUID categoryId, UUID userId) {
+        lock(userId, LOCK_SHARED);
+        monthlySummaryRepository.foldCategoryIntoUncategorized(categoryId, userId);
+        monthlySummaryRepository.deleteByCategory(categoryId, userId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteByUser(User user) {
+        lock(user.getId(), LOCK_SHARED);
+        monthlySummaryRepository.deleteByUser(user);
+    }
+
+    public BigDecimal getBalance(User user) {
+        return Money.toDecimal(monthlySummaryRepository.getBalanceByUser(user));
+    }
+
+    public void rebuild(UUID userId) {
+        List<Boolean> rebuilt = shardTemplate.executeOnEachShard(() -> transactionTemplate.execute(status ->
+                userRepository.findById(userId).map(user -> {
+                    rebuild(user);
+                    return true;
+                }).orElse(false)));
+        if (!rebuilt.contains(Boolean.TRUE))
+            throw new UsernameNotFoundException("User not found");
+    }
+
+    public int rebuildAll() {
+        return shardTemplate.executeOnEachShard(this::rebuildAllOnCurrentShard).stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    private int rebuildAllOnCurrentShard() {
+        List<UUID> userIds = userRepository.findAll().stream().map(User::getId).toList();
+        userIds.forEach(userId -> transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(userId).ifPresent(this::rebuild)));
+        return userIds.size();
+    }
+
+    private void rebuild(User user) {
+        lock(user.getId(), LOCK_EXCLUSIVE);
+        monthlySummaryRepository.deleteByUser(user);
+        List<MonthlySummaryRow> rows = transactionRepository.summarizeByMonth(user);
+        monthlySummaryRepository.saveAll(rows.stream()
+                .map(row -> new MonthlySummary(
+                        null,
+                        user,
+                        LocalDate.of(row.year(), row.month(), 1),
+                        row.categoryId(),
+                        row.type(),
+                        row.total(),
+                        row.count()))
+                .toList());
+    }
+
+    private void apply(Transaction transaction, long amount, long count) {
+        applyDelta(transaction.getUser(), Bucket.of(transaction), amount, count);
+    }
+
+    private void applyDelta(User user, Bucket bucket, long amount, long count) {
+        monthlySummaryRepository.applyDelta(
+                user.getId(), bucket.month(), bucket.categoryId(), bucket.type().name(), amount, count);
+        if (count < 0)
+            monthlySummaryRepository.deleteEmptyBuckets(user.getId(), bucket.month(), bucket.type().name());
+    }
+
+    private void lock(UUID userId, String lockSql) {
+        jdbcTemplate.query(lockSql, resultSet -> {
+        }, userId.toString());
+    }
+
+    private record Bucket(LocalDate month, UUID categoryId, TransactionType type) {
+
+        static Bucket of(Transaction transaction) {
+            return new Bucket(
+                    transaction.getDate().withDayOfMonth(1),
+                    transaction.getCategory() == null ? null : transaction.getCategory().getId(),
+                    transaction.getType());
+        }
+
+        static Bucket of(TransactionSnapshot snapshot) {
+            return new Bucket(snapshot.getDate().withDayOfMonth(1), snapshot.getCategoryId(), snapshot.getType());
+        }
+    }
+
+    private record Delta(long amount, long count) {
+
+        Delta plus(Delta other) {
+            return new Delta(Math.addExact(amount, other.amount), Math.addExact(count, other.count));
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.parreirinha.expensetrackerapp.category.domain.Category;
+import com.parreirinha.expensetrackerapp.category.repository.CategoryRepository;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionAnalyticsRow;
+import com.parreirinha.expensetrackerapp.transactions.repository.TransactionRepository;
+import com.parreirinha.expensetrackerapp.user.domain.User;
+import com.parreirinha.expensetrackerapp.user.service.UserDataVersionService;
+import com.parreirinha.expensetrackerapp.user.service.UserIdentityService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Component
+public class TransactionAnalyticsCache implements MeterBinder {
+
+    public static final String TRANSACTION_ANALYTICS_CACHE = "transactionAnalytics";
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserIdentityService userIdentityService;
+    private final UserDataVersionService userDataVersionService;
+    private final Cache<UUID, TransactionAnalyticsSnapshot> cache;
+
+    public TransactionAnalyticsCache(TransactionRepository transactionRepository,
+                                     CategoryRepository categoryRepository,
+                                     UserIdentityService userIdentityService,
+                                     UserDataVersionService userDataVersionService,
+                                     @Value("${transactions.analytics-cache.enabled:false}") boolean enabled,
+                                     @Value("${transactions.analytics-cache.max-size:64MB}") DataSize maxSize) {
+        this.transactionRepository = transactionRepository;
+        this.categoryRepository = categoryRepository;
+        this.userIdentityService = userIdentityService;
+        this.userDataVersionService = userDataVersionService;
+        this.cache = enabled
+                ? Caffeine.newBuilder()
+                        .maximumWeight(maxSize.toBytes())
+                        .weigher((UUID userId, TransactionAnalyticsSnapshot snapshot) ->
+                                (int) Math.min(Integer.MAX_VALUE, snapshot.weightInBytes()))
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TransactionAnalyticsSnapshot> get(UUID userId) {
+        if (cache == null)
+            return Optional.empty();
+        long version = userDataVersionService.currentVersion(userId);
+        TransactionAnalyticsSnapshot snapshot = cache.getIfPresent(userId);
+        if (snapshot != null && snapshot.version() == version)
+            return Optional.of(snapshot);
+        User user = userIdentityService.getUserReference(userId);
+        List<Category> categories = categoryRepository.findByUserOrderByName(user,
+                Limit.of(TransactionAnalyticsSnapshot.MAX_CATEGORIES + 1));
+        Optional<TransactionAnalyticsSnapshot> built = Optional.empty();
+        if (categories.size() <= TransactionAnalyticsSnapshot.MAX_CATEGORIES) {
+            try (Stream<TransactionAnalyticsRow> rows = transactionRepository.streamAnalyticsRowsByUser(user)) {
+                built = TransactionAnalyticsSnapshot.build(version, categories, rows.iterator());
+            }
+        }
+        built.ifPresentOrElse(fresh -> cache.asMap().merge(userId, fresh,
+                        (current, candidate) -> current.version() >= candidate.version() ? current : candidate),
+                () -> cache.invalidate(userId));
+        return built;
+    }
+
+    /**
+     * Folds a single transaction write into the cached snapshot once the surrounding transaction commits, so the
+     * next read does not rebuild. Call it after bumping the data version in the same transaction. The delta only
+     * applies to a snapshot at the version right before that bump; when another write got there first the entry is
+     * left behind and {@link #get} rebuilds it.
+     */
+    public void apply(UUID userId, TransactionAnalyticsRow removed, TransactionAnalyticsRow added) {
+        if (cache == null)
+            return;
+        long version = userDataVersionService.currentVersion(userId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(userId, version, removed, added);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(userId, version, removed, added);
+            }
+        });
+    }
+
+    private void apply(UUID userId, long version, TransactionAnalyticsRow removed, TransactionAnalyticsRow added) {
+        cache.asMap().computeIfPresent(userId, (id, snapshot) -> snapshot.version() == version - 1
+                ? snapshot.apply(version, removed, added).orElse(null)
+                : snapshot);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null)
+            CaffeineCacheMetrics.monitor(registry, cache, TRANSACTION_ANALYTICS_CACHE);
+    }
+
+}
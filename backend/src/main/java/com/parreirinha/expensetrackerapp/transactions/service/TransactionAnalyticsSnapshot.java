@@ -0,0 +1,317 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.parreirinha.expensetrackerapp.category.domain.Category;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.transactions.dto.SummaryGroupBy;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionAnalyticsRow;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionSummaryDto;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public final class TransactionAnalyticsSnapshot {
+
+    static final int MAX_CATEGORIES = Short.MAX_VALUE;
+
+    private static final short NO_CATEGORY = -1;
+    private static final int UNKNOWN_CATEGORY = -2;
+    private static final byte INCOME = 0;
+    private static final byte EXPENSE = 1;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long ROW_BYTES = Long.BYTES + Integer.BYTES + Short.BYTES + Byte.BYTES;
+    private static final long CATEGORY_BYTES = 128;
+    private static final long BASE_BYTES = 256;
+
+    private final long version;
+    private final int size;
+    private final long[] amounts;
+    private final int[] days;
+    private final short[] categories;
+    private final byte[] types;
+    private final UUID[] categoryIds;
+    private final String[] categoryNames;
+
+    private TransactionAnalyticsSnapshot(long version, int size, long[] amounts, int[] days, short[] categories,
+                                         byte[] types, UUID[] categoryIds, String[] categoryNames) {
+        this.version = version;
+        this.size = size;
+        this.amounts = amounts;
+        this.days = days;
+        this.categories = categories;
+        this.types = types;
+        this.categoryIds = categoryIds;
+        this.categoryNames = categoryNames;
+    }
+
+    /**
+     * Builds a snapshot from rows ordered by date. {@code categories} must be the user's categories in the order
+     * the database sorts their names, which the category summary keeps so it matches the SQL path. Returns empty,
+     * without reading any row, when there are more categories than the index can address, and stops early if a
+     * row references a category that is not in the list.
+     */
+    public static Optional<TransactionAnalyticsSnapshot> build(long version, List<Category> categories,
+                                                               Iterator<TransactionAnalyticsRow> rows) {
+        if (categories.size() > MAX_CATEGORIES)
+            return Optional.empty();
+        UUID[] categoryIds = new UUID[categories.size()];
+        String[] categoryNames = new String[categories.size()];
+        Map<UUID, Short> categoryIndex = new HashMap<>();
+        for (short i = 0; i < categoryIds.length; i++) {
+            categoryIds[i] = categories.get(i).getId();
+            categoryNames[i] = categories.get(i).getName();
+            categoryIndex.put(categoryIds[i], i);
+        }
+        long[] amounts = new long[INITIAL_CAPACITY];
+        int[] days = new int[INITIAL_CAPACITY];
+        short[] categoryColumn = new short[INITIAL_CAPACITY];
+        byte[] types = new byte[INITIAL_CAPACITY];
+        int size = 0;
+        int lastDay = Integer.MIN_VALUE;
+        while (rows.hasNext()) {
+            TransactionAnalyticsRow row = rows.next();
+            int day = Math.toIntExact(row.date().toEpochDay());
+            if (day < lastDay)
+                throw new IllegalArgumentException("Analytics rows must be ordered by date");
+            short category = NO_CATEGORY;
+            if (row.categoryId() != null) {
+                Short index = categoryIndex.get(row.categoryId());
+                if (index == null)
+                    return Optional.empty();
+                category = index;
+            }
+            if (size == amounts.length) {
+                int capacity = Math.max(INITIAL_CAPACITY, size + (size >> 1));
+                amounts = Arrays.copyOf(amounts, capacity);
+                days = Arrays.copyOf(days, capacity);
+                categoryColumn = Arrays.copyOf(categoryColumn, capacity);
+                types = Arrays.copyOf(types, capacity);
+            }
+            amounts[size] = row.amount();
+            days[size] = day;
+            categoryColumn[size] = category;
+            types[size] = row.type() == TransactionType.INCOME ? INCOME : EXPENSE;
+            lastDay = day;
+            size++;
+        }
+        return Optional.of(new TransactionAnalyticsSnapshot(version, size,
+                Arrays.copyOf(amounts, size), Arrays.copyOf(days, size),
+                Arrays.copyOf(categoryColumn, size), Arrays.copyOf(types, size), categoryIds, categoryNames));
+    }
+
+    /**
+     * Returns a copy at {@code version} with {@code removed} taken out and {@code added} inserted in date order;
+     * either may be null. Returns empty when the removed row is not in the snapshot or the added row references a
+     * category the snapshot does not know, in which case the caller drops the snapshot and the next read rebuilds.
+     */
+    Optional<TransactionAnalyticsSnapshot> apply(long version, TransactionAnalyticsRow removed,
+                                                 TransactionAnalyticsRow added) {
+        int removedIndex = -1;
+        if (removed != null) {
+            removedIndex = indexOf(removed);
+            if (removedIndex < 0)
+                return Optional.empty();
+        }
+        int addedCategory = NO_CATEGORY;
+        int insertAt = -1;
+        if (added != null) {
+            addedCategory = categoryOf(added.categoryId());
+            if (addedCategory == UNKNOWN_CATEGORY)
+                return Optional.empty();
+            insertAt = upperBound(added.date());
+        }
+        int newSize = size - (removed == null ? 0 : 1) + (added == null ? 0 : 1);
+        long[] newAmounts = new long[newSize];
+        int[] newDays = new int[newSize];
+        short[] newCategories = new short[newSize];
+        byte[] newTypes = new byte[newSize];
+        int j = 0;
+        for (int i = 0; i <= size; i++) {
+            if (i == insertAt) {
+                newAmounts[j] = added.amount();
+                newDays[j] = Math.toIntExact(added.date().toEpochDay());
+                newCategories[j] = (short) addedCategory;
+                newTypes[j] = added.type() == TransactionType.INCOME ? INCOME : EXPENSE;
+                j++;
+            }
+            if (i < size && i != removedIndex) {
+                newAmounts[j] = amounts[i];
+                newDays[j] = days[i];
+                newCategories[j] = categories[i];
+                newTypes[j] = types[i];
+                j++;
+            }
+        }
+        return Optional.of(new TransactionAnalyticsSnapshot(version, newSize, newAmounts, newDays, newCategories,
+                newTypes, categoryIds, categoryNames));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long weightInBytes() {
+        return BASE_BYTES + size * ROW_BYTES + categoryIds.length * CATEGORY_BYTES;
+    }
+
+    public long balance() {
+        return balance(0, size);
+    }
+
+    public long balance(LocalDate from, LocalDate to) {
+        return balance(lowerBound(from), upperBound(to));
+    }
+
+    public List<TransactionSummaryDto> summarize(LocalDate from, LocalDate to, SummaryGroupBy groupBy) {
+        int start = lowerBound(from);
+        int end = upperBound(to);
+        return switch (groupBy) {
+            case CATEGORY -> summarizeByCategory(start, end);
+            case MONTH -> summarizeByMonth(start, end);
+            case TYPE -> summarizeByType(start, end);
+        };
+    }
+
+    private long balance(int start, int end) {
+        long balance = 0;
+        for (int i = start; i < end; i++)
+            balance = Math.addExact(balance, types[i] == INCOME ? amounts[i] : -amounts[i]);
+        return balance;
+    }
+
+    private List<TransactionSummaryDto> summarizeByCategory(int start, int end) {
+        int uncategorized = categoryIds.length;
+        long[] income = new long[uncategorized + 1];
+        long[] expense = new long[uncategorized + 1];
+        long[] counts = new long[uncategorized + 1];
+        for (int i = start; i < end; i++) {
+            int category = categories[i] == NO_CATEGORY ? uncategorized : categories[i];
+            if (types[i] == INCOME)
+                income[category] = Math.addExact(income[category], amounts[i]);
+            else
+                expense[category] = Math.addExact(expense[category], amounts[i]);
+            counts[category]++;
+        }
+        List<TransactionSummaryDto> summaries = new ArrayList<>();
+        for (int category = 0; category <= uncategorized; category++) {
+            if (counts[category] == 0)
+                continue;
+            String key = category == uncategorized ? null : categoryIds[category].toString();
+            summaries.add(TransactionService.toSummary(key, categoryName(category),
+                    income[category], expense[category], counts[category]));
+        }
+        return summaries;
+    }
+
+    private List<TransactionSummaryDto> summarizeByMonth(int start, int end) {
+        List<TransactionSummaryDto> summaries = new ArrayList<>();
+        int i = start;
+        while (i < end) {
+            YearMonth month = YearMonth.from(LocalDate.ofEpochDay(days[i]));
+            int monthEnd = Math.toIntExact(month.plusMonths(1).atDay(1).toEpochDay());
+            long income = 0;
+            long expense = 0;
+            int first = i;
+            for (; i < end && days[i] < monthEnd; i++) {
+                if (types[i] == INCOME)
+                    income = Math.addExact(income, amounts[i]);
+                else
+                    expense = Math.addExact(expense, amounts[i]);
+            }
+            summaries.add(TransactionService.toSummary(month.toString(), month.toString(), income, expense, i - first));
+        }
+        return summaries;
+    }
+
+    private List<TransactionSummaryDto> summarizeByType(int start, int end) {
+        long income = 0;
+        long expense = 0;
+        long incomeCount = 0;
+        for (int i = start; i < end; i++) {
+            if (types[i] == INCOME) {
+                income = Math.addExact(income, amounts[i]);
+                incomeCount++;
+            } else {
+                expense = Math.addExact(expense, amounts[i]);
+            }
+        }
+        long expenseCount = (end - start) - incomeCount;
+        List<TransactionSummaryDto> summaries = new ArrayList<>(2);
+        if (expenseCount > 0)
+            summaries.add(TransactionService.toSummary(TransactionType.EXPENSE.name(), TransactionType.EXPENSE.name(),
+                    0, expense, expenseCount));
+        if (incomeCount > 0)
+            summaries.add(TransactionService.toSummary(TransactionType.INCOME.name(), TransactionType.INCOME.name(),
+                    income, 0, incomeCount));
+        return summaries;
+    }
+
+    private int indexOf(TransactionAnalyticsRow row) {
+        int day = epochDay(row.date());
+        int category = categoryOf(row.categoryId());
+        byte type = row.type() == TransactionType.INCOME ? INCOME : EXPENSE;
+        for (int i = lowerBound(row.date()); i < size && days[i] == day; i++) {
+            if (amounts[i] == row.amount() && categories[i] == category && types[i] == type)
+                return i;
+        }
+        return -1;
+    }
+
+    private int categoryOf(UUID categoryId) {
+        if (categoryId == null)
+            return NO_CATEGORY;
+        for (int i = 0; i < categoryIds.length; i++) {
+            if (categoryIds[i].equals(categoryId))
+                return i;
+        }
+        return UNKNOWN_CATEGORY;
+    }
+
+    private String categoryName(int category) {
+        return category == categoryIds.length ? null : categoryNames[category];
+    }
+
+    private int lowerBound(LocalDate from) {
+        int day = epochDay(from);
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < day)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    private int upperBound(LocalDate to) {
+        int day = epochDay(to);
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] <= day)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    private static int epochDay(LocalDate date) {
+        long day = date.toEpochDay();
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, day));
+    }
+}
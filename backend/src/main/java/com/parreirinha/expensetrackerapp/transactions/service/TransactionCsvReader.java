@@ -0,0 +1,173 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionRequestDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Reads RFC 4180 CSV: fields may be quoted, and a quoted field may hold commas, doubled quotes and line breaks.
+ * Each row reports the physical line it starts on, counting the header as line 1 and blank lines too, so errors
+ * point at the line an editor shows.
+ */
+class TransactionCsvReader implements Iterator<TransactionImportRow> {
+
+    private static final String AMOUNT = "amount";
+    private static final String TYPE = "type";
+    private static final String DATE = "date";
+    private static final String CATEGORY_ID = "category_id";
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns;
+    private long line = 1;
+    private long recordLine;
+    private Record next;
+
+    TransactionCsvReader(BufferedReader reader) {
+        this.reader = reader;
+        this.columns = readHeader();
+        this.next = readRecord();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public TransactionImportRow next() {
+        if (next == null)
+            throw new NoSuchElementException();
+        Record current = next;
+        next = readRecord();
+        return current.error() != null
+                ? TransactionImportRow.invalid(current.line(), current.error())
+                : parse(current.line(), current.values());
+    }
+
+    private TransactionImportRow parse(long current, List<String> values) {
+        if (values.size() < columns.size())
+            return TransactionImportRow.invalid(current, "Expected " + columns.size() + " columns but found " + values.size());
+        try {
+            BigDecimal amount = new BigDecimal(value(values, AMOUNT));
+            TransactionType type = TransactionType.valueOf(value(values, TYPE).toUpperCase(Locale.ROOT));
+            LocalDate date = LocalDate.parse(value(values, DATE));
+            String categoryId = columns.containsKey(CATEGORY_ID) ? value(values, CATEGORY_ID) : "";
+            return TransactionImportRow.valid(current, new TransactionRequestDto(
+                    amount,
+                    categoryId.isEmpty() ? null : UUID.fromString(categoryId),
+                    type,
+                    date));
+        } catch (DateTimeParseException e) {
+            return TransactionImportRow.invalid(current, "Invalid date: " + value(values, DATE));
+        } catch (IllegalArgumentException e) {
+            return TransactionImportRow.invalid(current, "Invalid value: " + e.getMessage());
+        }
+    }
+
+    private String value(List<String> values, String column) {
+        return values.get(columns.get(column)).trim();
+    }
+
+    private Map<String, Integer> readHeader() {
+        Record header = readRecord();
+        if (header == null)
+            throw new IllegalArgumentException("CSV header is required");
+        if (header.error() != null)
+            throw new IllegalArgumentException("CSV header: " + header.error());
+        Map<String, Integer> headerColumns = new HashMap<>();
+        for (int i = 0; i < header.values().size(); i++)
+            headerColumns.put(header.values().get(i).trim().toLowerCase(Locale.ROOT), i);
+        for (String required : new String[] {AMOUNT, TYPE, DATE})
+            if (!headerColumns.containsKey(required))
+                throw new IllegalArgumentException("CSV header must contain column: " + required);
+        return headerColumns;
+    }
+
+    /**
+     * Returns the next non-blank record, or null at the end of input. A record with an unterminated quote is
+     * returned with an error; it runs to the end of the input, so it is always the last one.
+     */
+    private Record readRecord() {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean blank = true;
+        recordLine = line;
+        int c = read();
+        if (c == -1)
+            return null;
+        while (true) {
+            if (quoted) {
+                if (c == -1)
+                    return new Record(recordLine, null, "Unterminated quoted field");
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                if (c == '\n')
+                    line++;
+                field.append((char) c);
+            } else if (c == '"' && isBlank(field)) {
+                field.setLength(0);
+                quoted = true;
+                blank = false;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+                blank = false;
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n')
+                    line++;
+                if (blank && isBlank(field)) {
+                    if (c == -1)
+                        return null;
+                    values.clear();
+                    field.setLength(0);
+                    recordLine = line;
+                } else {
+                    values.add(field.toString());
+                    return new Record(recordLine, values, null);
+                }
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private static boolean isBlank(CharSequence chars) {
+        for (int i = 0; i < chars.length(); i++)
+            if (!Character.isWhitespace(chars.charAt(i)))
+                return false;
+        return true;
+    }
+
+    private int read() {
+        try {
+            return reader.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Record(long line, List<String> values, String error) {
+    }
+
+}
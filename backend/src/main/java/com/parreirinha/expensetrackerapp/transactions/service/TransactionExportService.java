@@ -0,0 +1,138 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.parreirinha.expensetrackerapp.transactions.domain.Money;
+import com.parreirinha.expensetrackerapp.transactions.dto.ExportFormat;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionExportRow;
+import com.parreirinha.expensetrackerapp.transactions.repository.TransactionRepository;
+import com.parreirinha.expensetrackerapp.user.domain.User;
+import com.parreirinha.expensetrackerapp.user.service.UserIdentityService;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Service
+public class TransactionExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final String CSV_HEADER = "id,date,type,amount,category_id,category_name";
+
+    private final TransactionRepository transactionRepository;
+    private final UserIdentityService userIdentityService;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(TransactionRepository transactionRepository,
+                                    UserIdentityService userIdentityService,
+                                    ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.userIdentityService = userIdentityService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTransactions(UUID userId, ExportFormat format, OutputStream out) throws IOException {
+        User user = userIdentityService.getUserReference(userId);
+        try (Stream<TransactionExportRow> rows = transactionRepository.streamExportRowsByUser(user)) {
+            switch (format) {
+                case NDJSON -> writeNdjson(rows.iterator(), out);
+                case CSV -> writeCsv(rows.iterator(), out);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<TransactionExportRow> rows, OutputStream out) throws IOException {
+        int written = 0;
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(new NonClosingOutputStream(out))) {
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                if (++written % FLUSH_EVERY_ROWS == 1)
+                    writer.flush();
+            }
+        }
+        if (written > 0)
+            out.write('\n');
+        out.flush();
+    }
+
+    private void writeCsv(Iterator<TransactionExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        int written = 0;
+        while (rows.hasNext()) {
+            TransactionExportRow row = rows.next();
+            writer.write(row.id().toString());
+            writer.write(',');
+            writer.write(row.date().toString());
+            writer.write(',');
+            writer.write(row.type().name());
+            writer.write(',');
+            writer.write(Money.format(row.amount()));
+            writer.write(',');
+            if (row.categoryId() != null)
+                writer.write(row.categoryId().toString());
+            writer.write(',');
+            if (row.categoryName() != null)
+                writer.write(escapeCsv(row.categoryName()));
+            writer.write('\n');
+            if (++written % FLUSH_EVERY_ROWS == 1)
+                writer.flush();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Quotes a cell when needed. A cell that a spreadsheet would read as a formula gets a leading apostrophe first,
+     * so a category named like "=HYPERLINK(...)" is shown as text instead of being evaluated.
+     */
+    static String escapeCsv(String value) {
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0)
+            value = "'" + value;
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static final class NonClosingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+
+        private NonClosingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.flush();
+        }
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionRequestDto;
+
+record TransactionImportRow(
+        long row,
+        TransactionRequestDto transaction,
+        String error
+) {
+
+    static TransactionImportRow valid(long row, TransactionRequestDto transaction) {
+        return new TransactionImportRow(row, transaction, null);
+    }
+
+    static TransactionImportRow invalid(long row, String error) {
+        return new TransactionImportRow(row, null, error);
+    }
+
+}
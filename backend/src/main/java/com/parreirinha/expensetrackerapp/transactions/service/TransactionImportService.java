@@ -0,0 +1,162 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.parreirinha.expensetrackerapp.category.domain.Category;
+import com.parreirinha.expensetrackerapp.category.repository.CategoryRepository;
+import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionImportErrorDto;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionImportResultDto;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionRequestDto;
+import com.parreirinha.expensetrackerapp.transactions.mapper.TransactionMapper;
+import com.parreirinha.expensetrackerapp.transactions.repository.TransactionRepository;
+import com.parreirinha.expensetrackerapp.user.domain.User;
+import com.parreirinha.expensetrackerapp.user.service.UserDataVersionService;
+import com.parreirinha.expensetrackerapp.user.service.UserIdentityService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class TransactionImportService {
+
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final UserIdentityService userIdentityService;
+    private final CategoryRepository categoryRepository;
+    private final TransactionMapper transactionMapper;
+    private final MonthlySummaryService monthlySummaryService;
+    private final UserDataVersionService userDataVersionService;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final ObjectReader jsonReader;
+    private final long maxRows;
+
+    public TransactionImportService(TransactionRepository transactionRepository,
+                                    UserIdentityService userIdentityService,
+                                    CategoryRepository categoryRepository,
+                                    TransactionMapper transactionMapper,
+                                    MonthlySummaryService monthlySummaryService,
+                                    UserDataVersionService userDataVersionService,
+                                    Validator validator,
+                                    EntityManager entityManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${transactions.import.max-rows:100000}") long maxRows) {
+        this.transactionRepository = transactionRepository;
+        this.userIdentityService = userIdentityService;
+        this.categoryRepository = categoryRepository;
+        this.transactionMapper = transactionMapper;
+        this.monthlySummaryService = monthlySummaryService;
+        this.userDataVersionService = userDataVersionService;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.jsonReader = objectMapper.reader();
+        this.maxRows = maxRows;
+    }
+
+    @Transactional
+    public TransactionImportResultDto importJson(UUID userId, InputStream json) {
+        return importRows(userId, new TransactionJsonReader(jsonReader, json));
+    }
+
+    @Transactional
+    public TransactionImportResultDto importCsv(UUID userId, InputStream csv) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        return importRows(userId, new TransactionCsvReader(reader));
+    }
+
+    private TransactionImportResultDto importRows(UUID userId, Iterator<TransactionImportRow> rows) {
+        User user = userIdentityService.getUserReference(userId);
+        Map<UUID, Category> categories = categoryRepository.findByUser(user).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+        List<TransactionImportErrorDto> errors = new ArrayList<>();
+        List<Transaction> chunk = new ArrayList<>(CHUNK_SIZE);
+        long imported = 0;
+        long failed = 0;
+        long read = 0;
+        while (rows.hasNext()) {
+            if (++read > maxRows)
+                throw new IllegalArgumentException("An import is limited to " + maxRows + " rows");
+            TransactionImportRow row = rows.next();
+            String error = row.error() != null ? row.error() : validate(row.transaction(), categories);
+            Transaction transaction = null;
+            if (error == null) {
+                try {
+                    transaction = toTransaction(row.transaction(), user, categories);
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error != null) {
+                failed++;
+                if (errors.size() < MAX_REPORTED_ERRORS)
+                    errors.add(new TransactionImportErrorDto(row.row(), error));
+                continue;
+            }
+            chunk.add(transaction);
+            if (chunk.size() == CHUNK_SIZE) {
+                imported += flush(chunk);
+            }
+        }
+        imported += flush(chunk);
+        if (imported > 0)
+            userDataVersionService.bump(userId);
+        return new TransactionImportResultDto(imported, failed, errors);
+    }
+
+    private String validate(TransactionRequestDto dto, Map<UUID, Category> categories) {
+        if (dto == null)
+            return "Transaction is required";
+        Set<ConstraintViolation<TransactionRequestDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty())
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        if (dto.categoryId() != null && !categories.containsKey(dto.categoryId()))
+            return "Category not found";
+        return null;
+    }
+
+    private Transaction toTransaction(TransactionRequestDto dto, User user, Map<UUID, Category> categories) {
+        Transaction transaction = transactionMapper.toTransaction(dto);
+        transaction.setCategory(dto.categoryId() == null ? null : categories.get(dto.categoryId()));
+        transaction.setUser(user);
+        return transaction;
+    }
+
+    private int flush(List<Transaction> chunk) {
+        if (chunk.isEmpty())
+            return 0;
+        int size = chunk.size();
+        transactionRepository.saveAll(chunk);
+        monthlySummaryService.addAll(chunk);
+        entityManager.flush();
+        for (Transaction transaction : chunk)
+            entityManager.detach(transaction);
+        chunk.clear();
+        return size;
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionRequestDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a JSON array of transactions one element at a time, so an import never holds the whole body in memory.
+ * Malformed JSON fails the import with an IllegalArgumentException, as a bad request body did before.
+ */
+class TransactionJsonReader implements Iterator<TransactionImportRow> {
+
+    private final ObjectReader reader;
+    private final JsonParser parser;
+    private long row;
+    private JsonToken next;
+
+    TransactionJsonReader(ObjectReader reader, InputStream json) {
+        this.reader = reader.forType(TransactionRequestDto.class);
+        try {
+            this.parser = this.reader.createParser(json);
+            if (parser.nextToken() != JsonToken.START_ARRAY)
+                throw new IllegalArgumentException("Import body must be a JSON array");
+            this.next = parser.nextToken();
+        } catch (IOException e) {
+            throw invalid(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null)
+            throw new IllegalArgumentException("Import body ends before the JSON array is closed");
+        return next != JsonToken.END_ARRAY;
+    }
+
+    @Override
+    public TransactionImportRow next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        try {
+            TransactionRequestDto dto = next == JsonToken.VALUE_NULL ? null : reader.readValue(parser);
+            next = parser.nextToken();
+            return TransactionImportRow.valid(++row, dto);
+        } catch (IOException e) {
+            throw invalid(e);
+        }
+    }
+
+    private RuntimeException invalid(IOException e) {
+        if (e instanceof JsonProcessingException processing)
+            return new IllegalArgumentException("Invalid JSON at element " + (row + 1) + ": " + processing.getOriginalMessage());
+        return new UncheckedIOException(e);
+    }
+
+}
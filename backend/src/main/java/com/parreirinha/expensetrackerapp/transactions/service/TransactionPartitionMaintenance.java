@@ -0,0 +1,46 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import java.time.Year;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.parreirinha.expensetrackerapp.config.ShardTemplate;
+
+@Component
+public class TransactionPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionMaintenance.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardTemplate shardTemplate;
+
+    @Value("${transactions.partitions.years-ahead:1}")
+    private int yearsAhead;
+
+    public TransactionPartitionMaintenance(JdbcTemplate jdbcTemplate, ShardTemplate shardTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardTemplate = shardTemplate;
+    }
+
+    @Scheduled(cron = "${transactions.partitions.maintenance-cron:0 0 3 * * *}")
+    public void createUpcomingPartitions() {
+        for (String shard : shardTemplate.shards())
+            shardTemplate.run(shard, () -> createUpcomingPartitions(shard));
+    }
+
+    private void createUpcomingPartitions(String shard) {
+        int currentYear = Year.now().getValue();
+        for (int year = currentYear; year <= currentYear + yearsAhead; year++) {
+            Integer created = jdbcTemplate.queryForObject(
+                    "SELECT create_transaction_year_partitions(?)", Integer.class, year);
+            if (created != null && created > 0)
+                log.info("Created {} transaction partitions for {} on shard {}", created, year, shard);
+        }
+    }
+
+}
@@ -2,115 +2,230 @@ package com.parreirinha.expensetrackerapp.transactions.service;
 
 import com.parreirinha.expensetrackerapp.category.domain.Category;
 import com.parreirinha.expensetrackerapp.category.repository.CategoryRepository;
-import com.parreirinha.expensetrackerapp.exceptions.ForbiddenException;
 import com.parreirinha.expensetrackerapp.exceptions.ResourceNotFoundException;
+import com.parreirinha.expensetrackerapp.transactions.domain.Money;
 import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
 import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.transactions.dto.SummaryGroupBy;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionAnalyticsRow;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionCursor;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionFilterDto;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionPageDto;
 import com.parreirinha.expensetrackerapp.transactions.dto.TransactionRequestDto;
 import com.parreirinha.expensetrackerapp.transactions.dto.TransactionResponseDto;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionSummaryDto;
 import com.parreirinha.expensetrackerapp.transactions.mapper.TransactionMapper;
 import com.parreirinha.expensetrackerapp.transactions.repository.TransactionRepository;
+import com.parreirinha.expensetrackerapp.transactions.repository.TransactionSpecifications;
+import com.parreirinha.expensetrackerapp.transactions.repository.projection.TransactionSnapshot;
 import com.parreirinha.expensetrackerapp.user.domain.User;
-import com.parreirinha.expensetrackerapp.user.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.parreirinha.expensetrackerapp.user.service.UserDataVersionService;
+import com.parreirinha.expensetrackerapp.user.service.UserIdentityService;
 
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class TransactionService {
 
     private final TransactionRepository transactionRepository;
-    private final UserRepository userRepository;
+    private final UserIdentityService userIdentityService;
     private final CategoryRepository categoryRepository;
     private final TransactionMapper transactionMapper;
+    private final MonthlySummaryService monthlySummaryService;
+    private final UserDataVersionService userDataVersionService;
+    private final TransactionAnalyticsCache transactionAnalyticsCache;
 
     public TransactionService(TransactionRepository transactionRepository,
-                              UserRepository userRepository,
+                              UserIdentityService userIdentityService,
                               CategoryRepository categoryRepository,
-                              TransactionMapper transactionMapper) {
+                              TransactionMapper transactionMapper,
+                              MonthlySummaryService monthlySummaryService,
+                              UserDataVersionService userDataVersionService,
+                              TransactionAnalyticsCache transactionAnalyticsCache) {
         this.transactionRepository = transactionRepository;
-        this.userRepository = userRepository;
+        this.userIdentityService = userIdentityService;
         this.categoryRepository = categoryRepository;
         this.transactionMapper = transactionMapper;
+        this.monthlySummaryService = monthlySummaryService;
+        this.userDataVersionService = userDataVersionService;
+        this.transactionAnalyticsCache = transactionAnalyticsCache;
     }
 
     @Transactional
-    public void createTransaction(String username, TransactionRequestDto dto) {
-        User user = getUserByUsername(username);
+    public void createTransaction(UUID userId, TransactionRequestDto dto) {
+        User user = userIdentityService.getUserReference(userId);
         Category category = null;
         if (dto.categoryId() != null)
-           category = getCategoryById(dto.categoryId());
+           category = getCategoryById(dto.categoryId(), userId);
         Transaction transaction = transactionMapper.toTransaction(dto);
         transaction.setCategory(category);
         transaction.setUser(user);
         transactionRepository.save(transaction);
+        monthlySummaryService.add(transaction);
+        userDataVersionService.bump(userId);
+        transactionAnalyticsCache.apply(userId, null, toAnalyticsRow(transaction));
     }
 
-    public List<TransactionResponseDto> getTransactions(String username) {
-        User user = getUserByUsername(username);
-        return transactionMapper.toTransactionResponseDtoList(getTransactionsByUser(user));
+    @Transactional(readOnly = true)
+    public TransactionPageDto getTransactions(UUID userId, TransactionFilterDto filter, String cursor, int size) {
+        validateFilter(filter);
+        User user = userIdentityService.getUserReference(userId);
+        TransactionCursor after = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+        Specification<Transaction> specification = TransactionSpecifications.matching(user, filter)
+                .and(TransactionSpecifications.after(after));
+        List<Transaction> transactions = transactionRepository.findBy(specification, query -> query
+                .sortBy(TransactionSpecifications.KEYSET_SORT)
+                .project("category")
+                .limit(size + 1)
+                .all());
+        String nextCursor = null;
+        if (transactions.size() > size) {
+            transactions = transactions.subList(0, size);
+            Transaction last = transactions.get(size - 1);
+            nextCursor = new TransactionCursor(last.getDate(), last.getId()).encode();
+        }
+        return new TransactionPageDto(transactionMapper.toTransactionResponseDtoList(transactions), nextCursor);
     }
 
-    public TransactionResponseDto getTransaction(String username, UUID id) {
-        Transaction transaction = getTransactionById(id);
-        if (!transaction.getUser().getUsername().equals(username))
-            throw new ForbiddenException("You do not have access to this transaction");
+    @Transactional(readOnly = true)
+    public TransactionResponseDto getTransaction(UUID userId, UUID id) {
+        Transaction transaction = getTransactionById(id, userId);
         return transactionMapper.toTransactionResponseDto(transaction);
     }
 
     @Transactional
-    public void updateTransaction(UUID id, String username, TransactionRequestDto dto) {
-        Transaction transaction = getTransactionById(id);
-        if (!transaction.getUser().getUsername().equals(username))
-            throw new ForbiddenException("You do not have permission to update this transaction");
+    public void updateTransaction(UUID id, UUID userId, TransactionRequestDto dto) {
+        TransactionSnapshot previous = getTransactionSnapshot(id, userId);
         Category category = null;
         if (dto.categoryId() != null)
-            category = getCategoryById(dto.categoryId());
-        transaction.setAmount(dto.amount());
+            category = getCategoryById(dto.categoryId(), userId);
+        User user = userIdentityService.getUserReference(userId);
+        Transaction transaction = transactionMapper.toTransaction(dto);
+        transaction.setId(id);
         transaction.setCategory(category);
-        transaction.setType(dto.type());
-        transaction.setDate(dto.date());
-        transactionRepository.save(transaction);
+        transaction.setUser(user);
+        monthlySummaryService.subtract(user, previous);
+        if (transactionRepository.updateByIdAndUserIdAndDate(id, userId, previous.getDate(), transaction.getType(),
+                transaction.getAmountMinor(), category, transaction.getDate()) == 0)
+            throw new ResourceNotFoundException("Transaction not found");
+        monthlySummaryService.add(transaction);
+        userDataVersionService.bump(userId);
+        transactionAnalyticsCache.apply(userId, toAnalyticsRow(previous), toAnalyticsRow(transaction));
     }
 
     @Transactional
-    public void deleteTransaction(UUID id, String username) {
-        Transaction transaction = getTransactionById(id);
-        if (!transaction.getUser().getUsername().equals(username))
-            throw new ForbiddenException("You do not have permission to delete this transaction");
-        transactionRepository.delete(transaction);
+    public void deleteTransaction(UUID id, UUID userId) {
+        TransactionSnapshot snapshot = getTransactionSnapshot(id, userId);
+        monthlySummaryService.subtract(userIdentityService.getUserReference(userId), snapshot);
+        if (transactionRepository.deleteByIdAndUserIdAndDate(id, userId, snapshot.getDate()) == 0)
+            throw new ResourceNotFoundException("Transaction not found");
+        userDataVersionService.bump(userId);
+        transactionAnalyticsCache.apply(userId, toAnalyticsRow(snapshot), null);
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getBalance(UUID userId) {
+        Optional<TransactionAnalyticsSnapshot> snapshot = transactionAnalyticsCache.get(userId);
+        if (snapshot.isPresent())
+            return Money.toDecimal(snapshot.get().balance());
+        User user = userIdentityService.getUserReference(userId);
+        return monthlySummaryService.getBalance(user);
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getBalance(UUID userId, LocalDate from, LocalDate to) {
+        if (from == null && to == null)
+            return getBalance(userId);
+        if (from == null || to == null)
+            throw new IllegalArgumentException("Both from and to dates are required");
+        if (from.isAfter(to))
+            throw new IllegalArgumentException("From date must not be after to date");
+        Optional<TransactionAnalyticsSnapshot> snapshot = transactionAnalyticsCache.get(userId);
+        if (snapshot.isPresent())
+            return Money.toDecimal(snapshot.get().balance(from, to));
+        User user = userIdentityService.getUserReference(userId);
+        return Money.toDecimal(transactionRepository.getBalanceByUserAndDateBetween(user, from, to));
     }
 
-    public BigDecimal getBalance(String username) {
-        User user = getUserByUsername(username);
-        List<Transaction> transactions = getTransactionsByUser(user);
-        return transactions.stream()
-                .map(t -> t.getType() == TransactionType.INCOME ?
-                        t.getAmount() : t.getAmount().negate())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @Transactional(readOnly = true)
+    public List<TransactionSummaryDto> getSummary(UUID userId, LocalDate from, LocalDate to, SummaryGroupBy groupBy) {
+        if (from.isAfter(to))
+            throw new IllegalArgumentException("From date must not be after to date");
+        Optional<TransactionAnalyticsSnapshot> snapshot = transactionAnalyticsCache.get(userId);
+        if (snapshot.isPresent())
+            return snapshot.get().summarize(from, to, groupBy);
+        User user = userIdentityService.getUserReference(userId);
+        return switch (groupBy) {
+            case CATEGORY -> transactionRepository.sumByCategory(user, from, to).stream()
+                    .map(totals -> toSummary(
+                            totals.getCategoryId() == null ? null : totals.getCategoryId().toString(),
+                            totals.getCategoryName(),
+                            totals.getIncome(),
+                            totals.getExpense(),
+                            totals.getCount()))
+                    .toList();
+            case MONTH -> transactionRepository.sumByMonth(user, from, to).stream()
+                    .map(totals -> {
+                        String month = YearMonth.of(totals.getPeriodYear(), totals.getPeriodMonth()).toString();
+                        return toSummary(month, month, totals.getIncome(), totals.getExpense(), totals.getCount());
+                    })
+                    .toList();
+            case TYPE -> transactionRepository.sumByType(user, from, to).stream()
+                    .map(totals -> toSummary(
+                            totals.getType().name(),
+                            totals.getType().name(),
+                            totals.getType() == TransactionType.INCOME ? totals.getTotal() : 0,
+                            totals.getType() == TransactionType.EXPENSE ? totals.getTotal() : 0,
+                            totals.getCount()))
+                    .toList();
+        };
     }
 
-    public Transaction getTransactionById(UUID id) {
-        return transactionRepository.findById(id)
+    private Transaction getTransactionById(UUID id, UUID userId) {
+        return transactionRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
     }
 
-    public List<Transaction> getTransactionsByUser(User user) {
-        return transactionRepository.findByUser(user);
+    private TransactionSnapshot getTransactionSnapshot(UUID id, UUID userId) {
+        return transactionRepository.findSnapshotByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
+    }
+
+    private static TransactionAnalyticsRow toAnalyticsRow(TransactionSnapshot snapshot) {
+        return new TransactionAnalyticsRow(snapshot.getAmountMinor(), snapshot.getDate(), snapshot.getType(),
+                snapshot.getCategoryId());
+    }
+
+    private static TransactionAnalyticsRow toAnalyticsRow(Transaction transaction) {
+        Category category = transaction.getCategory();
+        return new TransactionAnalyticsRow(transaction.getAmountMinor(), transaction.getDate(), transaction.getType(),
+                category == null ? null : category.getId());
+    }
+
+    static TransactionSummaryDto toSummary(String key, String label, long income, long expense, long count) {
+        return new TransactionSummaryDto(key, label, Money.toDecimal(income), Money.toDecimal(expense),
+                Money.toDecimal(Math.subtractExact(income, expense)), count);
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    private void validateFilter(TransactionFilterDto filter) {
+        if (filter.from() != null && filter.to() != null && filter.from().isAfter(filter.to()))
+            throw new IllegalArgumentException("From date must not be after to date");
+        if (filter.minAmount() != null && filter.maxAmount() != null
+                && filter.minAmount().compareTo(filter.maxAmount()) > 0)
+            throw new IllegalArgumentException("Minimum amount must not be greater than maximum amount");
     }
 
-    private Category getCategoryById(UUID id) {
-        return categoryRepository.findById(id)
+    private Category getCategoryById(UUID id, UUID userId) {
+        return categoryRepository.findByIdAndUserId(id, userId)
                     .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
     }
 }
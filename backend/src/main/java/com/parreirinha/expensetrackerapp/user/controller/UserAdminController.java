@@ -42,6 +42,13 @@ public class UserAdminController {
         return ResponseEntity.ok(userAdminService.getUser(id));
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{id}/shard/{shard}")
+    public ResponseEntity<Void> moveUser(@PathVariable @NotNull UUID id, @PathVariable @NotNull String shard) {
+        userAdminService.moveUser(id, shard);
+        return ResponseEntity.noContent().build();
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable @NotNull UUID id) {
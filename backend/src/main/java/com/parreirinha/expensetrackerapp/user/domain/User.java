@@ -7,7 +7,10 @@ import jakarta.persistence.*;
 
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_keycloak_id", columnList = "keycloak_id", unique = true),
+        @Index(name = "idx_users_username", columnList = "username")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,4 +30,7 @@ public class User {
 
     private String email;
 
+    @Column(name = "data_version", nullable = false, updatable = false)
+    private long dataVersion;
+
 }
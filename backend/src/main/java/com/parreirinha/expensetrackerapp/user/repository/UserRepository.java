@@ -3,6 +3,9 @@ package com.parreirinha.expensetrackerapp.user.repository;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.parreirinha.expensetrackerapp.user.domain.User;
 
 
@@ -11,4 +14,14 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     Optional<User> findByKeycloakId(String keycloakId);
+
+    @Query("SELECT u.id FROM User u WHERE u.keycloakId = :keycloakId")
+    Optional<UUID> findIdByKeycloakId(@Param("keycloakId") String keycloakId);
+
+    @Query("SELECT u.dataVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findDataVersionById(@Param("id") UUID id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.dataVersion = u.dataVersion + 1 WHERE u.id = :id")
+    int incrementDataVersion(@Param("id") UUID id);
 }
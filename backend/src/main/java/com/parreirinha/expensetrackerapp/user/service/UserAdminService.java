@@ -1,75 +1,170 @@
 package com.parreirinha.expensetrackerapp.user.service;
 
 import com.parreirinha.expensetrackerapp.category.repository.CategoryRepository;
-import com.parreirinha.expensetrackerapp.exceptions.ForbiddenException;
+import com.parreirinha.expensetrackerapp.config.ShardDirectory;
+import com.parreirinha.expensetrackerapp.config.ShardTemplate;
+import com.parreirinha.expensetrackerapp.outbox.domain.OutboxEventType;
+import com.parreirinha.expensetrackerapp.outbox.service.OutboxService;
+import com.parreirinha.expensetrackerapp.transactions.repository.MonthlySummaryRepository;
 import com.parreirinha.expensetrackerapp.transactions.repository.TransactionRepository;
 import com.parreirinha.expensetrackerapp.user.domain.User;
 import com.parreirinha.expensetrackerapp.user.dto.UserAdminResponseDto;
 import com.parreirinha.expensetrackerapp.user.mapper.UserMapper;
 import com.parreirinha.expensetrackerapp.user.repository.UserRepository;
-import jakarta.transaction.Transactional;
 
-import org.keycloak.admin.client.Keycloak;
-import org.springframework.beans.factory.annotation.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class UserAdminService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserAdminService.class);
+
+    // Tables holding a user's rows and the column that keys them, parents first
+    private static final Map<String, String> USER_TABLES = new LinkedHashMap<>();
+
+    static {
+        USER_TABLES.put("users", "id");
+        USER_TABLES.put("category", "user_id");
+        USER_TABLES.put("transaction", "user_id");
+        USER_TABLES.put("monthly_summary", "user_id");
+    }
+
     private final UserRepository userRepository;
+    private final UserIdentityService userIdentityService;
     private final CategoryRepository categoryRepository;
     private final TransactionRepository transactionRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
     private final UserMapper userMapper;
-    private final Keycloak keycloakAdminClient;
-
-    @Value("${keycloak.realm}")
-    private String keycloakRealm;
+    private final OutboxService outboxService;
+    private final ShardTemplate shardTemplate;
+    private final ShardDirectory shardDirectory;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
 
     public UserAdminService(UserRepository userRepository,
+                    UserIdentityService userIdentityService,
                     CategoryRepository categoryRepository,
                     TransactionRepository transactionRepository,
+                    MonthlySummaryRepository monthlySummaryRepository,
                     UserMapper userMapper,
-                    Keycloak keycloakAdminClient) {
+                    OutboxService outboxService,
+                    ShardTemplate shardTemplate,
+                    ShardDirectory shardDirectory,
+                    JdbcTemplate jdbcTemplate,
+                    PlatformTransactionManager transactionManager) {
     
         this.userRepository = userRepository;
+        this.userIdentityService = userIdentityService;
         this.categoryRepository = categoryRepository;
         this.transactionRepository = transactionRepository;
+        this.monthlySummaryRepository = monthlySummaryRepository;
         this.userMapper = userMapper;
-        this.keycloakAdminClient = keycloakAdminClient;
+        this.outboxService = outboxService;
+        this.shardTemplate = shardTemplate;
+        this.shardDirectory = shardDirectory;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
+    /**
+     * Reads open one read-only transaction per shard inside the fan-out, rather than a method-level @Transactional
+     * whose connection would be bound before a shard is chosen. They can be served by the replica.
+     */
     public List<UserAdminResponseDto> getUsers() {
-        return userMapper.toUserAdminResponseDtoList(userRepository.findAll());
+        List<User> users = shardTemplate.executeOnEachShard(() -> readOnlyTransactionTemplate.execute(status ->
+                        userRepository.findAll())).stream()
+                .flatMap(List::stream)
+                .toList();
+        return userMapper.toUserAdminResponseDtoList(users);
     }
 
     public UserAdminResponseDto getUser(UUID id) {
-        return userMapper.toUserAdminResponseDto(getUserById(id));
+        return userMapper.toUserAdminResponseDto(findUser(id));
     }
 
-    @Transactional
     public void deleteUser(UUID id) {
-        User user = getUserById(id);
-        try {
-            keycloakAdminClient
-                .realm(keycloakRealm)
-                .users()
-                .get(user.getKeycloakId())
-                .remove();
-        } catch (Exception e) {
-            throw new RuntimeException("Error deleting user in Keycloak: " + e.getMessage());
-        }
-        categoryRepository.deleteByUser(user);
-        transactionRepository.deleteByUser(user);
-        userRepository.delete(user);
+        List<Boolean> deleted = shardTemplate.executeOnEachShard(() -> transactionTemplate.execute(status ->
+                userRepository.findById(id).map(user -> {
+                    delete(user);
+                    return true;
+                }).orElse(false)));
+        if (!deleted.contains(Boolean.TRUE))
+            throw new UsernameNotFoundException("User not found");
     }
 
-    private User getUserById(UUID id) {
-        return userRepository.findById(id)
+    /**
+     * Moves a user's rows to another shard and repoints the shard directory. The user's row stays locked on the
+     * source shard until the copy is committed on the target, so concurrent writes for that user wait and then fail
+     * instead of landing on the old shard. Other instances route the user to the old shard until their directory
+     * cache entry expires (datasource.shards.directory-cache.ttl).
+     */
+    public void moveUser(UUID id, String target) {
+        if (!shardTemplate.shards().contains(target))
+            throw new IllegalArgumentException("Unknown shard: " + target);
+        String keycloakId = findUser(id).getKeycloakId();
+        String source = shardTemplate.shardFor(keycloakId);
+        if (source.equals(target))
+            return;
+        shardTemplate.run(source, () -> transactionTemplate.executeWithoutResult(status -> {
+            if (jdbcTemplate.queryForList("SELECT id FROM users WHERE id = ? FOR UPDATE", id).isEmpty())
+                throw new UsernameNotFoundException("User not found on shard " + source);
+            Map<String, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+            USER_TABLES.forEach((table, column) -> rows.put(table,
+                    jdbcTemplate.queryForList("SELECT * FROM " + table + " WHERE " + column + " = ?", id)));
+            shardTemplate.run(target, () -> newTransactionTemplate.executeWithoutResult(inner -> rows.forEach(this::insert)));
+            shardDirectory.reassign(keycloakId, target);
+            log.info("Moved user {} from shard {} to {}", id, source, target);
+            List<String> tables = List.copyOf(USER_TABLES.keySet());
+            for (int i = tables.size() - 1; i >= 0; i--)
+                jdbcTemplate.update("DELETE FROM " + tables.get(i) + " WHERE " + USER_TABLES.get(tables.get(i)) + " = ?", id);
+        }));
+    }
+
+    private void insert(String table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty())
+            return;
+        List<String> columns = List.copyOf(rows.get(0).keySet());
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+        jdbcTemplate.batchUpdate(sql, rows.stream().map(row -> columns.stream().map(row::get).toArray()).toList());
+    }
+
+    private User findUser(UUID id) {
+        return shardTemplate.executeOnEachShard(() -> readOnlyTransactionTemplate.execute(status ->
+                        userRepository.findById(id))).stream()
+                .flatMap(Optional::stream)
+                .findFirst()
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
+    private void delete(User user) {
+        transactionRepository.deleteByUser(user);
+        categoryRepository.deleteByUser(user);
+        monthlySummaryRepository.deleteByUser(user);
+        userRepository.delete(user);
+        outboxService.enqueue(OutboxEventType.DELETE_KEYCLOAK_USER, user.getKeycloakId());
+        userIdentityService.evict(user.getUsername());
+        userIdentityService.evictUserId(user.getKeycloakId());
+        shardDirectory.forget(user.getKeycloakId());
+    }
+
 }
@@ -0,0 +1,37 @@
+package com.parreirinha.expensetrackerapp.user.service;
+
+import com.parreirinha.expensetrackerapp.user.repository.UserRepository;
+
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Service
+public class UserDataVersionService {
+
+    private final UserRepository userRepository;
+
+    public UserDataVersionService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public String etag(UUID userId) {
+        return "\"" + userId + "-" + currentVersion(userId) + "\"";
+    }
+
+    @Transactional(readOnly = true)
+    public long currentVersion(UUID userId) {
+        return userRepository.findDataVersionById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(UUID userId) {
+        userRepository.incrementDataVersion(userId);
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.parreirinha.expensetrackerapp.user.service;
+
+import com.parreirinha.expensetrackerapp.user.domain.User;
+import com.parreirinha.expensetrackerapp.user.repository.UserRepository;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+@Service
+public class UserIdentityService {
+
+    public static final String USERS_CACHE = "users";
+    public static final String USER_IDS_CACHE = "userIds";
+
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    public UserIdentityService(UserRepository userRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    @Cacheable(cacheNames = USERS_CACHE, key = "#username")
+    public User getUserByUsername(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+
+    public UUID resolveUserId(Jwt jwt) {
+        String keycloakId = jwt.getSubject();
+        Cache cache = cacheManager.getCache(USER_IDS_CACHE);
+        Cache.ValueWrapper cached = cache == null ? null : cache.get(keycloakId);
+        if (cached != null)
+            return (UUID) cached.get();
+        UUID userId = userRepository.findIdByKeycloakId(keycloakId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        if (cache != null)
+            cache.put(keycloakId, userId);
+        return userId;
+    }
+
+    public User getUserReference(UUID userId) {
+        return userRepository.getReferenceById(userId);
+    }
+
+    public void evict(String username) {
+        evict(USERS_CACHE, username);
+    }
+
+    public void evictUserId(String keycloakId) {
+        evict(USER_IDS_CACHE, keycloakId);
+    }
+
+    private void evict(String cacheName, String key) {
+        if (key == null)
+            return;
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null)
+            return;
+        cache.evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(key);
+                }
+            });
+        }
+    }
+
+}
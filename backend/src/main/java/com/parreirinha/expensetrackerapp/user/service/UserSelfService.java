@@ -1,32 +1,25 @@
 package com.parreirinha.expensetrackerapp.user.service;
 
-import java.util.Map;
-
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.admin.client.resource.UsersResource;
 import org.keycloak.representations.idm.CredentialRepresentation;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 
+import com.parreirinha.expensetrackerapp.auth.service.KeycloakGateway;
+import com.parreirinha.expensetrackerapp.config.ShardDirectory;
+import com.parreirinha.expensetrackerapp.outbox.domain.OutboxEventType;
+import com.parreirinha.expensetrackerapp.outbox.service.OutboxService;
 import com.parreirinha.expensetrackerapp.user.dto.ChangePasswordDto;
 import com.parreirinha.expensetrackerapp.user.dto.UserResponseDto;
 import com.parreirinha.expensetrackerapp.user.mapper.UserMapper;
 import com.parreirinha.expensetrackerapp.user.repository.UserRepository;
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.parreirinha.expensetrackerapp.category.repository.CategoryRepository;
+import com.parreirinha.expensetrackerapp.transactions.repository.MonthlySummaryRepository;
 import com.parreirinha.expensetrackerapp.transactions.repository.TransactionRepository;
 import com.parreirinha.expensetrackerapp.user.domain.User;
 
@@ -34,45 +27,51 @@ import com.parreirinha.expensetrackerapp.user.domain.User;
 public class UserSelfService {
 
     private final UserRepository userRepository;
+    private final UserIdentityService userIdentityService;
     private final CategoryRepository categoryRepository;
     private final TransactionRepository transactionRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
     private final UserMapper userMapper;
     private final Keycloak keycloakAdminClient;
+    private final KeycloakGateway keycloakGateway;
+    private final OutboxService outboxService;
+    private final ShardDirectory shardDirectory;
 
     @Value("${keycloak.realm}")
     private String keycloakRealm;
 
-    @Value("${keycloak.base-url}")
-    private String keycloakBaseUrl;
-
-    @Value("${keycloak.client-id}")
-    private String keycloakClientId;
-
-    @Value("${keycloak.client-secret}")
-    private String keycloakClientSecret;
-
     public UserSelfService(
         UserRepository userRepository,
+        UserIdentityService userIdentityService,
         CategoryRepository categoryRepository,
         TransactionRepository transactionRepository,
+        MonthlySummaryRepository monthlySummaryRepository,
         UserMapper userMapper,
-        Keycloak keycloakAdminClient
+        Keycloak keycloakAdminClient,
+        KeycloakGateway keycloakGateway,
+        OutboxService outboxService,
+        ShardDirectory shardDirectory
     ) {
         this.userRepository = userRepository;
+        this.userIdentityService = userIdentityService;
         this.categoryRepository = categoryRepository;
         this.transactionRepository = transactionRepository;
+        this.monthlySummaryRepository = monthlySummaryRepository;
         this.userMapper = userMapper;
         this.keycloakAdminClient = keycloakAdminClient;
+        this.keycloakGateway = keycloakGateway;
+        this.outboxService = outboxService;
+        this.shardDirectory = shardDirectory;
     }
 
     public UserResponseDto getUser(String username) {
-        return userMapper.toUserResponseDto(getUserByUsername(username));
+        return userMapper.toUserResponseDto(userIdentityService.getUserByUsername(username));
     }
 
     @Transactional
     public void changePassword(String username, ChangePasswordDto changePasswordDto) {
-        User user = getUserByUsername(username);
-        if (!isPasswordValid(username, changePasswordDto.oldPassword()))
+        User user = userIdentityService.getUserByUsername(username);
+        if (!keycloakGateway.isPasswordValid(username, changePasswordDto.oldPassword()))
             throw new IllegalArgumentException("Invalid Credentials");
         if (changePasswordDto.newPassword().equals(changePasswordDto.oldPassword()))
             throw new IllegalArgumentException("New password must be different from the old password");
@@ -87,42 +86,15 @@ public class UserSelfService {
 
     @Transactional
     public void deleteSelf(String username) {
-        User user = getUserByUsername(username);
-        categoryRepository.deleteByUser(user);
+        User user = userIdentityService.getUserByUsername(username);
         transactionRepository.deleteByUser(user);
-        RealmResource realmResource = keycloakAdminClient.realm(keycloakRealm);
-        realmResource.users().delete(user.getKeycloakId());
+        categoryRepository.deleteByUser(user);
+        monthlySummaryRepository.deleteByUser(user);
         userRepository.delete(user);
-    }
-
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-    }
-
-    private boolean isPasswordValid(String username, String password) {
-        String tokenUrl = keycloakBaseUrl + "/realms/" + keycloakRealm + "/protocol/openid-connect/token";
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-        params.add("grant_type", "password");
-        params.add("client_id", keycloakClientId);
-        params.add("client_secret", keycloakClientSecret);
-        params.add("username", username);
-        params.add("password", password);
-        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
-        ResponseEntity<Map<String, Object>> response;
-        try {
-            response = new RestTemplate().exchange(
-                tokenUrl,
-                HttpMethod.POST,
-                request,
-                new ParameterizedTypeReference<>() {}
-            );
-            return response.getStatusCode().is2xxSuccessful();
-        } catch (Exception e) {
-            return false;
-        }
+        outboxService.enqueue(OutboxEventType.DELETE_KEYCLOAK_USER, user.getKeycloakId());
+        userIdentityService.evict(username);
+        userIdentityService.evictUserId(user.getKeycloakId());
+        shardDirectory.forget(user.getKeycloakId());
     }
     
 }
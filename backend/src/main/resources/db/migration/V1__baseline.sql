@@ -0,0 +1,50 @@
+-- Idempotent so that it can run against a database Hibernate created before Flyway (ddl-auto=update):
+-- baseline-version=0 makes Flyway apply V1 there too, which adds monthly_summary if it is missing.
+CREATE TABLE IF NOT EXISTS users (
+    id          UUID PRIMARY KEY,
+    keycloak_id VARCHAR(255),
+    username    VARCHAR(255),
+    email       VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS category (
+    id      UUID PRIMARY KEY,
+    name    VARCHAR(255) NOT NULL UNIQUE,
+    user_id UUID         NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS transaction (
+    id          UUID PRIMARY KEY,
+    type        VARCHAR(255)   NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    amount      NUMERIC(38, 2) NOT NULL,
+    date        DATE           NOT NULL,
+    category_id UUID REFERENCES category (id),
+    user_id     UUID           NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS monthly_summary (
+    id                UUID PRIMARY KEY,
+    user_id           UUID           NOT NULL REFERENCES users (id),
+    month_start       DATE           NOT NULL,
+    category_id       UUID,
+    type              VARCHAR(255)   NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    total             NUMERIC(38, 2) NOT NULL,
+    transaction_count BIGINT         NOT NULL
+);
+
+-- A monthly_summary left by ddl-auto had no key on its buckets, so concurrent first inserts and category removal
+-- could leave several rows for one (user, month, category, type). Rebuild it from transaction, which also
+-- backfills users whose summary was never built, then enforce one row per bucket. NULL categories share the nil
+-- UUID so the uncategorized bucket is unique too; writes upsert against this index with ON CONFLICT.
+DELETE FROM monthly_summary;
+
+INSERT INTO monthly_summary (id, user_id, month_start, category_id, type, total, transaction_count)
+SELECT gen_random_uuid(), user_id, date_trunc('month', date)::DATE, category_id, type, SUM(amount), COUNT(*)
+FROM transaction
+GROUP BY user_id, date_trunc('month', date), category_id, type;
+
+DROP INDEX IF EXISTS idx_monthly_summary_user_month;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_monthly_summary_bucket
+    ON monthly_summary (user_id, month_start, COALESCE(category_id, '00000000-0000-0000-0000-000000000000'::UUID), type);
+CREATE INDEX IF NOT EXISTS idx_monthly_summary_category ON monthly_summary (category_id);
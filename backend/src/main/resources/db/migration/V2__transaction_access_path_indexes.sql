@@ -0,0 +1,14 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transaction_user_date
+    ON transaction (user_id, date DESC, id DESC) INCLUDE (type, amount, category_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transaction_category
+    ON transaction (category_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_category_user
+    ON category (user_id);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_users_keycloak_id
+    ON users (keycloak_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_username
+    ON users (username);
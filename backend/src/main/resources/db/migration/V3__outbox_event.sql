@@ -0,0 +1,12 @@
+CREATE TABLE outbox_event (
+    id           UUID PRIMARY KEY,
+    type         VARCHAR(255)  NOT NULL CHECK (type IN ('DELETE_KEYCLOAK_USER')),
+    payload      VARCHAR(255)  NOT NULL,
+    status       VARCHAR(255)  NOT NULL CHECK (status IN ('PENDING', 'FAILED')),
+    attempts     INTEGER       NOT NULL,
+    available_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_error   VARCHAR(1000)
+);
+
+CREATE INDEX idx_outbox_event_available_at ON outbox_event (available_at);
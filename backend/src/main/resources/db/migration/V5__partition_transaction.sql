@@ -0,0 +1,102 @@
+ALTER TABLE transaction RENAME TO transaction_unpartitioned;
+ALTER TABLE transaction_unpartitioned RENAME CONSTRAINT transaction_pkey TO transaction_unpartitioned_pkey;
+ALTER INDEX IF EXISTS idx_transaction_user_date RENAME TO idx_transaction_unpartitioned_user_date;
+ALTER INDEX IF EXISTS idx_transaction_category RENAME TO idx_transaction_unpartitioned_category;
+
+CREATE TABLE transaction (
+    id          UUID           NOT NULL,
+    type        VARCHAR(255)   NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    amount      NUMERIC(38, 2) NOT NULL,
+    date        DATE           NOT NULL,
+    category_id UUID REFERENCES category (id),
+    user_id     UUID           NOT NULL REFERENCES users (id),
+    PRIMARY KEY (id, user_id, date)
+) PARTITION BY HASH (user_id);
+
+CREATE FUNCTION transaction_hash_partitions() RETURNS INTEGER
+    LANGUAGE sql IMMUTABLE AS 'SELECT 8';
+
+DO $$
+BEGIN
+    FOR remainder IN 0 .. transaction_hash_partitions() - 1 LOOP
+        EXECUTE format(
+            'CREATE TABLE transaction_h%s PARTITION OF transaction'
+            ' FOR VALUES WITH (MODULUS %s, REMAINDER %s) PARTITION BY RANGE (date)',
+            remainder, transaction_hash_partitions(), remainder);
+        EXECUTE format('CREATE TABLE transaction_h%s_default PARTITION OF transaction_h%s DEFAULT',
+            remainder, remainder);
+    END LOOP;
+END
+$$;
+
+-- Every instance runs the nightly partition maintenance. Serialize them on a transaction-scoped advisory lock so
+-- a second caller waits, then finds the partitions already there, instead of racing the first one into a
+-- duplicate CREATE TABLE or a half-moved default partition.
+CREATE FUNCTION create_transaction_year_partitions(partition_year INTEGER) RETURNS INTEGER
+    LANGUAGE plpgsql AS $$
+DECLARE
+    created INTEGER := 0;
+    range_start DATE := make_date(partition_year, 1, 1);
+    range_end DATE := make_date(partition_year + 1, 1, 1);
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('create_transaction_year_partitions'));
+    CREATE TEMP TABLE IF NOT EXISTS transaction_partition_staging (LIKE transaction) ON COMMIT DROP;
+    FOR remainder IN 0 .. transaction_hash_partitions() - 1 LOOP
+        IF to_regclass(format('transaction_h%s_%s', remainder, partition_year)) IS NULL THEN
+            EXECUTE format(
+                'WITH moved AS (DELETE FROM transaction_h%s_default WHERE date >= %L AND date < %L RETURNING *)'
+                ' INSERT INTO transaction_partition_staging SELECT * FROM moved',
+                remainder, range_start, range_end);
+            EXECUTE format(
+                'CREATE TABLE IF NOT EXISTS transaction_h%s_%s PARTITION OF transaction_h%s FOR VALUES FROM (%L) TO (%L)',
+                remainder, partition_year, remainder, range_start, range_end);
+            created := created + 1;
+        END IF;
+    END LOOP;
+    INSERT INTO transaction SELECT * FROM transaction_partition_staging;
+    TRUNCATE transaction_partition_staging;
+    RETURN created;
+END
+$$;
+
+CREATE FUNCTION detach_transaction_partitions_before(cutoff_year INTEGER) RETURNS INTEGER
+    LANGUAGE plpgsql AS $$
+DECLARE
+    leaf RECORD;
+    detached INTEGER := 0;
+BEGIN
+    FOR leaf IN
+        SELECT parent.relname AS parent_name, child.relname AS child_name
+        FROM pg_inherits
+        JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE parent.relname ~ '^transaction_h[0-9]+$'
+          AND child.relname ~ '^transaction_h[0-9]+_[0-9]{4}$'
+          AND substring(child.relname FROM '([0-9]{4})$')::INTEGER < cutoff_year
+    LOOP
+        EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', leaf.parent_name, leaf.child_name);
+        detached := detached + 1;
+    END LOOP;
+    RETURN detached;
+END
+$$;
+
+SELECT create_transaction_year_partitions(partition_year)
+FROM generate_series(
+         COALESCE((SELECT EXTRACT(YEAR FROM MIN(date))::INTEGER FROM transaction_unpartitioned),
+                  EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER),
+         EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER + 1) AS partition_year;
+
+INSERT INTO transaction (id, type, amount, date, category_id, user_id)
+SELECT id, type, amount, date, category_id, user_id
+FROM transaction_unpartitioned;
+
+DROP TABLE transaction_unpartitioned;
+
+CREATE INDEX idx_transaction_user_date
+    ON transaction (user_id, date DESC, id DESC) INCLUDE (type, amount, category_id);
+
+CREATE INDEX idx_transaction_category
+    ON transaction (category_id);
+
+ANALYZE transaction;
@@ -0,0 +1,10 @@
+-- Amounts are stored as BIGINT minor units (cents, Money.SCALE = 2). The existing NUMERIC(38, 2) values are
+-- exact at that scale, so multiplying by 100 is lossless; a value beyond the BIGINT range fails the migration.
+ALTER TABLE transaction RENAME COLUMN amount TO amount_minor;
+ALTER TABLE transaction ALTER COLUMN amount_minor TYPE BIGINT USING (amount_minor * 100)::BIGINT;
+
+ALTER TABLE monthly_summary RENAME COLUMN total TO total_minor;
+ALTER TABLE monthly_summary ALTER COLUMN total_minor TYPE BIGINT USING (total_minor * 100)::BIGINT;
+
+ANALYZE transaction;
+ANALYZE monthly_summary;
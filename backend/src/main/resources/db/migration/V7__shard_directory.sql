@@ -0,0 +1,8 @@
+-- Keycloak id -> shard assignments. Created on every shard, but only the directory shard
+-- (datasource.shards.directory, the first shard by default) reads and writes it.
+CREATE TABLE shard_directory (
+    keycloak_id VARCHAR(255) PRIMARY KEY,
+    shard       VARCHAR(255) NOT NULL
+);
+
+CREATE INDEX idx_shard_directory_shard ON shard_directory (shard);
@@ -0,0 +1,83 @@
+package com.parreirinha.expensetrackerapp.auth.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.ws.rs.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.admin.client.Keycloak;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeycloakAdminGatewayTest {
+
+    private final AtomicInteger adminTasks = new AtomicInteger();
+    private HttpServer server;
+    private Keycloak keycloak;
+    private ThreadPoolExecutor executor;
+    private KeycloakAdminGateway keycloakAdminGateway;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/realms/master/protocol/openid-connect/token", exchange ->
+                respond(exchange, 200, "{\"access_token\":\"admin\",\"expires_in\":300,\"token_type\":\"Bearer\"}"));
+        server.createContext("/admin/realms/test/roles/", exchange -> {
+            if (exchange.getRequestURI().getPath().endsWith("/USER"))
+                respond(exchange, 200, "{\"id\":\"role-id\",\"name\":\"USER\"}");
+            else
+                respond(exchange, 404, "{\"error\":\"Could not find role\"}");
+        });
+        server.start();
+        keycloak = Keycloak.getInstance("http://localhost:" + server.getAddress().getPort(),
+                "master", "admin", "admin", "admin-cli");
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            protected void beforeExecute(Thread thread, Runnable task) {
+                adminTasks.incrementAndGet();
+            }
+        };
+        keycloakAdminGateway = new KeycloakAdminGateway(keycloak, executor);
+        ReflectionTestUtils.setField(keycloakAdminGateway, "keycloakRealm", "test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        keycloak.close();
+        executor.shutdownNow();
+        server.stop(0);
+    }
+
+    @Test
+    void adminCallsRunOnTheAdminExecutor() {
+        assertThat(keycloakAdminGateway.getRealmRole("USER").getId()).isEqualTo("role-id");
+
+        assertThat(adminTasks).hasValue(1);
+    }
+
+    @Test
+    void adminClientErrorsReachTheCallerUnwrapped() {
+        assertThatThrownBy(() -> keycloakAdminGateway.getRealmRole("MISSING"))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.parreirinha.expensetrackerapp.auth.service;
+
+import com.parreirinha.expensetrackerapp.config.KeycloakHttpClientConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeycloakGatewayTest {
+
+    private static final String OIDC_PATH = "/realms/test/protocol/openid-connect";
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    private RestClient restClient;
+    private KeycloakGateway keycloakGateway;
+
+    @BeforeAll
+    static void disableStubNagle() {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(OIDC_PATH + "/token", exchange -> {
+            String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            if (form.contains("password=secret"))
+                respond(exchange, 200, "{\"access_token\":\"access\",\"refresh_token\":\"refresh\",\"expires_in\":300}");
+            else
+                respond(exchange, 401, "{\"error\":\"invalid_grant\"}");
+        });
+        server.createContext(OIDC_PATH + "/slow", exchange -> {
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{}");
+        });
+        server.start();
+        restClient = new KeycloakHttpClientConfig().keycloakRestClient(
+                RestClient.builder(),
+                "http://localhost:" + server.getAddress().getPort(),
+                "test",
+                Duration.ofSeconds(1),
+                Duration.ofMillis(200));
+        keycloakGateway = new KeycloakGateway(restClient, "client", "client-secret");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void reusesPooledConnectionsAcrossLogins() {
+        for (int i = 0; i < 20; i++) {
+            Map<String, Object> token = keycloakGateway.passwordGrant("alice", "secret");
+            assertThat(token).containsEntry("access_token", "access").containsEntry("expires_in", 300);
+            assertThat(keycloakGateway.isPasswordValid("alice", "wrong")).isFalse();
+        }
+
+        assertThat(clientPorts).hasSize(1);
+    }
+
+    @Test
+    void failsFastWhenKeycloakDoesNotAnswerWithinTheReadTimeout() {
+        assertThatThrownBy(() -> restClient.get().uri("/slow").retrieve().toBodilessEntity())
+                .isInstanceOf(ResourceAccessException.class);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+}
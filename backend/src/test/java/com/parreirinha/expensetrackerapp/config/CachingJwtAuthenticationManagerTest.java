@@ -0,0 +1,68 @@
+package com.parreirinha.expensetrackerapp.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingJwtAuthenticationManagerTest {
+
+    private final AtomicInteger decodes = new AtomicInteger();
+
+    @Test
+    void repeatedTokenIsDecodedOnceAndKeepsPerRequestDetails() {
+        CachingJwtAuthenticationManager manager = manager(Instant.now().plusSeconds(300));
+
+        Authentication first = manager.authenticate(bearer("token-a", "10.0.0.1"));
+        Authentication second = manager.authenticate(bearer("token-a", "10.0.0.2"));
+        manager.authenticate(bearer("token-b", "10.0.0.1"));
+
+        assertThat(decodes).hasValue(2);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getDetails()).isEqualTo("10.0.0.2");
+        assertThat(second.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+        assertThat(manager.getCache().stats().hitCount()).isOne();
+    }
+
+    @Test
+    void expiredTokensAreNotServedFromTheCache() {
+        CachingJwtAuthenticationManager manager = manager(Instant.now().minusSeconds(1));
+
+        manager.authenticate(bearer("token-a", null));
+        manager.authenticate(bearer("token-a", null));
+
+        assertThat(decodes).hasValue(2);
+    }
+
+    private CachingJwtAuthenticationManager manager(Instant expiresAt) {
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(token -> {
+            decodes.incrementAndGet();
+            return Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .subject("kc-" + token)
+                    .claim("realm_access", Map.of("roles", List.of("USER")))
+                    .issuedAt(expiresAt.minusSeconds(600))
+                    .expiresAt(expiresAt)
+                    .build();
+        });
+        provider.setJwtAuthenticationConverter(new SecurityConfiguration().jwtAuthenticationConverter());
+        return new CachingJwtAuthenticationManager(provider, 100, Duration.ofMinutes(5), Clock.systemUTC());
+    }
+
+    private static BearerTokenAuthenticationToken bearer(String token, String details) {
+        BearerTokenAuthenticationToken bearer = new BearerTokenAuthenticationToken(token);
+        bearer.setDetails(details);
+        return bearer;
+    }
+
+}
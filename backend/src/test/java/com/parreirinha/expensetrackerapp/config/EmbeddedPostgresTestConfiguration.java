@@ -0,0 +1,27 @@
+package com.parreirinha.expensetrackerapp.config;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * Replaces the H2 test database with an embedded PostgreSQL for tests that exercise PostgreSQL-only SQL. Use it
+ * with {@code @AutoConfigureTestDatabase(replace = NONE)} and Flyway enabled, so the schema is the real one.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class EmbeddedPostgresTestConfiguration {
+
+    @Bean(destroyMethod = "close")
+    EmbeddedPostgres embeddedPostgres() throws IOException {
+        return EmbeddedPostgres.start();
+    }
+
+    @Bean
+    DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+        return embeddedPostgres.getPostgresDatabase();
+    }
+
+}
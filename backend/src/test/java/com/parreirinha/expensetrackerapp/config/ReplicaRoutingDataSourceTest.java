@@ -0,0 +1,119 @@
+package com.parreirinha.expensetrackerapp.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final ReadYourWritesPolicy policy = new ReadYourWritesPolicy(Duration.ofMinutes(1));
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(policy);
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Target.PRIMARY, node("primary"),
+                ReplicaRoutingDataSource.Target.REPLICA, node("replica")));
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void resetRequestAttributes() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaUnlessTheRequestIsPinned() {
+        bind(new MockHttpServletRequest("GET", "/api/transactions"));
+        assertThat(nodeFor(readWrite)).isEqualTo("primary");
+        assertThat(nodeFor(readOnly)).isEqualTo("replica");
+
+        policy.pinCurrentRequest();
+        assertThat(nodeFor(readOnly)).isEqualTo("primary");
+
+        bind(new MockHttpServletRequest("GET", "/api/transactions"));
+        assertThat(nodeFor(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void pinTravelsWithTheClientToAnotherInstance() throws Exception {
+        MockHttpServletResponse written = serve(new MockHttpServletRequest("POST", "/api/transactions"));
+        Cookie pin = written.getCookie(ReadYourWritesPolicy.PIN_NAME);
+        assertThat(pin).isNotNull();
+        assertThat(written.getHeader(ReadYourWritesPolicy.PIN_NAME)).isEqualTo(pin.getValue());
+
+        ReadYourWritesFilter otherInstance = new ReadYourWritesFilter(new ReadYourWritesPolicy(Duration.ofMinutes(1)));
+        MockHttpServletRequest withCookie = new MockHttpServletRequest("GET", "/api/transactions");
+        withCookie.setCookies(pin);
+        assertThat(nodeAfter(otherInstance, withCookie)).isEqualTo("primary");
+
+        MockHttpServletRequest withHeader = new MockHttpServletRequest("GET", "/api/transactions");
+        withHeader.addHeader(ReadYourWritesPolicy.PIN_NAME, pin.getValue());
+        assertThat(nodeAfter(otherInstance, withHeader)).isEqualTo("primary");
+
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/transactions");
+        expired.setCookies(new Cookie(ReadYourWritesPolicy.PIN_NAME, "0"));
+        assertThat(nodeAfter(otherInstance, expired)).isEqualTo("replica");
+        assertThat(nodeAfter(otherInstance, new MockHttpServletRequest("GET", "/api/transactions"))).isEqualTo("replica");
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        bind(request);
+        new ReadYourWritesFilter(policy).doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private String nodeAfter(ReadYourWritesFilter filter, MockHttpServletRequest request) throws Exception {
+        AtomicReference<String> node = new AtomicReference<>();
+        bind(request);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> node.set(nodeFor(readOnly)));
+        return node.get();
+    }
+
+    private String nodeFor(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+        jdbcTemplate.update("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void bind(MockHttpServletRequest request) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+}
@@ -0,0 +1,147 @@
+package com.parreirinha.expensetrackerapp.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class ShardRoutingDataSourceTest {
+
+    private final ShardDirectory shardDirectory = directory("shard0, shard1, shard2");
+    private final ShardTemplate shardTemplate = new ShardTemplate(shardDirectory);
+    private final Map<String, DataSource> nodes = new LinkedHashMap<>();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        shardDirectory.shards().forEach(shard -> nodes.put(shard, node(shard)));
+        targets.putAll(nodes);
+        shardDirectory.attach(nodes.get("shard0"));
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(shardDirectory);
+        routing.setTargetDataSources(targets);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatedRequestsGoToTheShardThatOwnsTheSubject() {
+        for (String subject : new String[] {"alice", "bob", "carol", "dave"}) {
+            SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(subject, null, "ROLE_USER"));
+            assertThat(currentNode()).isEqualTo(shardDirectory.shardFor(subject));
+        }
+        assertThat(shardTemplate.execute("shard2", this::currentNode)).isEqualTo("shard2");
+    }
+
+    @Test
+    void fanOutVisitsEveryShardInParallelAndKeepsShardOrder() {
+        assertThat(shardTemplate.executeOnEachShard(this::currentNode)).containsExactly("shard0", "shard1", "shard2");
+    }
+
+    @Test
+    void newSubjectsSpreadAcrossShards() {
+        Map<String, Long> placement = IntStream.range(0, 3000)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .collect(Collectors.groupingBy(shardDirectory::placementFor, Collectors.counting()));
+        assertThat(placement).containsOnlyKeys("shard0", "shard1", "shard2");
+        assertThat(placement.values()).allSatisfy(count -> assertThat(count).isBetween(800L, 1200L));
+    }
+
+    @Test
+    void recordedSubjectsKeepTheirShardWhenShardsAreAdded() {
+        List<String> subjects = IntStream.range(0, 200).mapToObj(i -> UUID.randomUUID().toString()).toList();
+        Map<String, String> before = subjects.stream()
+                .collect(Collectors.toMap(subject -> subject, shardDirectory::shardFor));
+
+        ShardDirectory grown = directory("shard0,shard1,shard2,shard3");
+        grown.attach(nodes.get("shard0"));
+
+        assertThat(subjects).allSatisfy(subject -> assertThat(grown.shardFor(subject)).isEqualTo(before.get(subject)));
+        assertThat(grown.shardFor("new-subject")).isEqualTo(grown.placementFor("new-subject"));
+    }
+
+    @Test
+    void startupIsRefusedWhenAShardThatHoldsUsersIsNoLongerConfigured() {
+        new JdbcTemplate(nodes.get("shard2")).update("INSERT INTO users (keycloak_id) VALUES ('carol')");
+        shardDirectory.verify(nodes);
+        assertThat(shardDirectory.shardFor("carol")).isEqualTo("shard2");
+
+        ShardDirectory shrunk = directory("shard0,shard1");
+        shrunk.attach(nodes.get("shard0"));
+        Map<String, DataSource> remaining = new LinkedHashMap<>(nodes);
+        remaining.remove("shard2");
+
+        assertThatIllegalStateException().isThrownBy(() -> shrunk.verify(remaining)).withMessageContaining("shard2");
+    }
+
+    @Test
+    void forgettingAUserWaitsForTheDeleteToCommit() {
+        JdbcTemplate directoryRows = new JdbcTemplate(nodes.get("shard0"));
+        String shard = shardDirectory.shardFor("erin");
+
+        shardTemplate.run(shard, () -> transactionTemplate.executeWithoutResult(status -> {
+            shardDirectory.forget("erin");
+            assertThat(countAssignments(directoryRows, "erin")).isEqualTo(1);
+            status.setRollbackOnly();
+        }));
+        assertThat(countAssignments(directoryRows, "erin")).isEqualTo(1);
+        assertThat(shardDirectory.shardFor("erin")).isEqualTo(shard);
+
+        shardTemplate.run(shard, () -> transactionTemplate.executeWithoutResult(status -> shardDirectory.forget("erin")));
+        assertThat(countAssignments(directoryRows, "erin")).isZero();
+    }
+
+    private static Integer countAssignments(JdbcTemplate directoryRows, String keycloakId) {
+        return directoryRows.queryForObject("SELECT count(*) FROM shard_directory WHERE keycloak_id = ?",
+                Integer.class, keycloakId);
+    }
+
+    private String currentNode() {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static ShardDirectory directory(String names) {
+        return new ShardDirectory(names, "", 1000, Duration.ofMinutes(1));
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:sharding-" + name + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS users (keycloak_id VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS shard_directory (keycloak_id VARCHAR(255) PRIMARY KEY, shard VARCHAR(255) NOT NULL)");
+        jdbcTemplate.update("DELETE FROM node");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM shard_directory");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.parreirinha.expensetrackerapp.outbox.service;
+
+import com.parreirinha.expensetrackerapp.outbox.domain.OutboxEvent;
+import com.parreirinha.expensetrackerapp.outbox.domain.OutboxEventStatus;
+import com.parreirinha.expensetrackerapp.outbox.domain.OutboxEventType;
+import com.parreirinha.expensetrackerapp.outbox.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false)
+@Import(OutboxService.class)
+@ActiveProfiles("test")
+class OutboxServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void claimLeasesDueEventsAndFailureBacksOff() {
+        outboxService.enqueue(OutboxEventType.DELETE_KEYCLOAK_USER, "kc-1");
+        outboxService.enqueue(OutboxEventType.DELETE_KEYCLOAK_USER, "kc-2");
+        entityManager.flush();
+
+        List<OutboxEvent> claimed = outboxService.claim(10);
+        assertThat(claimed).extracting(OutboxEvent::getPayload).containsExactlyInAnyOrder("kc-1", "kc-2");
+        assertThat(claimed).allSatisfy(event -> assertThat(event.getAvailableAt()).isAfter(Instant.now()));
+        entityManager.flush();
+        assertThat(outboxService.claim(10)).isEmpty();
+
+        OutboxEvent completed = claimed.stream().filter(e -> e.getPayload().equals("kc-1")).findFirst().orElseThrow();
+        OutboxEvent failed = claimed.stream().filter(e -> e.getPayload().equals("kc-2")).findFirst().orElseThrow();
+        outboxService.complete(completed.getId());
+        outboxService.fail(failed.getId(), "Keycloak unavailable");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(outboxEventRepository.findAll()).singleElement().satisfies(event -> {
+            assertThat(event.getPayload()).isEqualTo("kc-2");
+            assertThat(event.getAttempts()).isEqualTo(1);
+            assertThat(event.getLastError()).isEqualTo("Keycloak unavailable");
+            assertThat(event.getAvailableAt()).isAfter(Instant.now());
+        });
+    }
+
+    @Test
+    void eventIsParkedAsFailedOnceMaxAttemptsAreUsedUp() {
+        outboxService.enqueue(OutboxEventType.DELETE_KEYCLOAK_USER, "kc-3");
+        entityManager.flush();
+        UUID id = outboxEventRepository.findAll().get(0).getId();
+
+        for (int attempt = 1; attempt < 10; attempt++)
+            assertThat(outboxService.fail(id, "Keycloak unavailable")).isFalse();
+        assertThat(outboxService.fail(id, "Keycloak unavailable")).isTrue();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(outboxEventRepository.findById(id)).get().satisfies(event -> {
+            assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.FAILED);
+            assertThat(event.getAttempts()).isEqualTo(10);
+        });
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.parreirinha.expensetrackerapp.transactions.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void minorUnitsRoundTripAndFormatLikeBigDecimal() {
+        for (String amount : new String[] {"0.00", "0.05", "12.5", "-7.09", "1234567.89", "92233720368547758.07"}) {
+            long minorUnits = Money.toMinorUnits(new BigDecimal(amount));
+
+            assertThat(Money.toDecimal(minorUnits)).isEqualByComparingTo(amount);
+            assertThat(Money.format(minorUnits)).isEqualTo(new BigDecimal(amount).setScale(Money.SCALE).toPlainString());
+        }
+        assertThat(Money.format(Long.MIN_VALUE)).isEqualTo("-92233720368547758.08");
+    }
+
+    @Test
+    void extraDecimalsAreRoundedHalfUpAndOverflowIsRejected() {
+        assertThat(Money.toMinorUnits(new BigDecimal("1.005"))).isEqualTo(101);
+        assertThat(Money.toMinorUnits(new BigDecimal("1.0049"))).isEqualTo(100);
+        assertThat(Money.toMinorUnits(new BigDecimal("-1.005"))).isEqualTo(-101);
+        assertThatThrownBy(() -> Money.toMinorUnits(new BigDecimal("92233720368547758.08")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(Money.toMinorUnits(new BigDecimal("1.001"), RoundingMode.CEILING)).isEqualTo(101);
+        assertThat(Money.toMinorUnits(new BigDecimal("1.009"), RoundingMode.FLOOR)).isEqualTo(100);
+    }
+
+}
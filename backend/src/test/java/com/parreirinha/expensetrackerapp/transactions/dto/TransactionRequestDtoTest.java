@@ -0,0 +1,53 @@
+package com.parreirinha.expensetrackerapp.transactions.dto;
+
+import com.parreirinha.expensetrackerapp.transactions.domain.Money;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionRequestDtoTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void everyAcceptedAmountFitsInMinorUnits() {
+        BigDecimal largest = new BigDecimal("9999999999999999.9999999999");
+
+        assertThat(validator.validate(request(largest))).isEmpty();
+        assertThat(Money.toMinorUnits(largest)).isEqualTo(1_000_000_000_000_000_000L);
+    }
+
+    @Test
+    void oversizedAndExponentAmountsAreRejected() {
+        for (String amount : new String[] {"10000000000000000", "1e999999999", "1.00000000001"})
+            assertThat(validator.validate(request(new BigDecimal(amount))))
+                    .extracting(violation -> violation.getPropertyPath().toString())
+                    .containsExactly("amount");
+    }
+
+    private static TransactionRequestDto request(BigDecimal amount) {
+        return new TransactionRequestDto(amount, null, TransactionType.EXPENSE, LocalDate.of(2024, 1, 1));
+    }
+
+}
@@ -0,0 +1,222 @@
+package com.parreirinha.expensetrackerapp.transactions.repository;
+
+import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionCursor;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionExportRow;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionFilterDto;
+import com.parreirinha.expensetrackerapp.transactions.repository.projection.MonthTotals;
+import com.parreirinha.expensetrackerapp.user.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+class TransactionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private User user;
+    private User otherUser;
+
+    @BeforeEach
+    void setUp() {
+        user = persistUser("alice");
+        otherUser = persistUser("bob");
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < 500; i++) {
+            persistTransaction(user,
+                    random.nextBoolean() ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    random.nextInt(1_000_000) + 1,
+                    start.plusDays(random.nextInt(730)));
+        }
+        persistTransaction(otherUser, TransactionType.INCOME, 99_999, start);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getBalanceByUserMatchesStreamFold() {
+        long expected = fold(transactionRepository.findByUser(user));
+
+        assertThat(transactionRepository.getBalanceByUser(user)).isEqualTo(expected);
+    }
+
+    @Test
+    void getBalanceByUserAndDateBetweenMatchesStreamFold() {
+        LocalDate from = LocalDate.of(2024, 3, 15);
+        LocalDate to = LocalDate.of(2025, 2, 28);
+        long expected = fold(transactionRepository.findByUser(user).stream()
+                .filter(t -> !t.getDate().isBefore(from) && !t.getDate().isAfter(to))
+                .toList());
+
+        assertThat(transactionRepository.getBalanceByUserAndDateBetween(user, from, to)).isEqualTo(expected);
+    }
+
+    @Test
+    void getBalanceByUserIsZeroWithoutTransactions() {
+        User newUser = persistUser("carol");
+
+        assertThat(transactionRepository.getBalanceByUser(newUser)).isZero();
+    }
+
+    @Test
+    void keysetPagesWalkFilteredHistoryInOrderWithoutGaps() {
+        TransactionFilterDto filter = new TransactionFilterDto(
+                LocalDate.of(2024, 6, 1), null, TransactionType.EXPENSE, null, new BigDecimal("100.00"), null);
+        List<Transaction> expected = transactionRepository.findByUser(user).stream()
+                .filter(t -> !t.getDate().isBefore(filter.from()))
+                .filter(t -> t.getType() == filter.type())
+                .filter(t -> t.getAmountMinor() >= 10_000)
+                .toList();
+
+        List<Transaction> walked = new ArrayList<>();
+        TransactionCursor cursor = null;
+        List<Transaction> page;
+        do {
+            page = transactionRepository.findBy(
+                    TransactionSpecifications.matching(user, filter).and(TransactionSpecifications.after(cursor)),
+                    query -> query.sortBy(TransactionSpecifications.KEYSET_SORT).limit(17).all());
+            walked.addAll(page);
+            if (!page.isEmpty()) {
+                Transaction last = page.get(page.size() - 1);
+                cursor = TransactionCursor.decode(new TransactionCursor(last.getDate(), last.getId()).encode());
+            }
+        } while (page.size() == 17);
+
+        assertThat(walked).extracting(Transaction::getId)
+                .doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(expected.stream().map(Transaction::getId).toList());
+        assertThat(walked).extracting(Transaction::getDate)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    void streamExportRowsByUserReturnsOnlyTheUsersRowsInDateOrder() {
+        try (Stream<TransactionExportRow> rows = transactionRepository.streamExportRowsByUser(user)) {
+            List<TransactionExportRow> exported = rows.toList();
+
+            assertThat(exported).hasSize(500);
+            assertThat(exported).extracting(TransactionExportRow::date).isSorted();
+        }
+    }
+
+    @Test
+    void groupByProjectionsMatchInMemoryGrouping() {
+        LocalDate from = LocalDate.of(2024, 2, 1);
+        LocalDate to = LocalDate.of(2024, 11, 30);
+        List<Transaction> inRange = transactionRepository.findByUser(user).stream()
+                .filter(t -> !t.getDate().isBefore(from) && !t.getDate().isAfter(to))
+                .toList();
+
+        Map<TransactionType, Long> byType = inRange.stream().collect(Collectors.groupingBy(
+                Transaction::getType, Collectors.summingLong(Transaction::getAmountMinor)));
+        assertThat(transactionRepository.sumByType(user, from, to)).allSatisfy(totals ->
+                assertThat(totals.getTotal()).isEqualTo(byType.get(totals.getType())));
+
+        Map<YearMonth, Long> countByMonth = inRange.stream().collect(Collectors.groupingBy(
+                t -> YearMonth.from(t.getDate()), Collectors.counting()));
+        List<MonthTotals> months = transactionRepository.sumByMonth(user, from, to);
+        assertThat(months).hasSize(countByMonth.size());
+        assertThat(months).allSatisfy(totals -> assertThat(totals.getCount())
+                .isEqualTo(countByMonth.get(YearMonth.of(totals.getPeriodYear(), totals.getPeriodMonth()))));
+        assertThat(months.stream().mapToLong(MonthTotals::getIncome).sum()
+                - months.stream().mapToLong(MonthTotals::getExpense).sum())
+                .isEqualTo(fold(inRange));
+
+        assertThat(transactionRepository.sumByCategory(user, from, to)).singleElement().satisfies(totals -> {
+            assertThat(totals.getCategoryId()).isNull();
+            assertThat(totals.getCount()).isEqualTo(inRange.size());
+        });
+    }
+
+    @Test
+    void ownershipScopedLookupsIgnoreOtherUsersRows() {
+        Transaction foreign = transactionRepository.findByUser(otherUser).get(0);
+        Transaction own = transactionRepository.findByUser(user).get(0);
+
+        assertThat(transactionRepository.findByIdAndUserId(foreign.getId(), user.getId())).isEmpty();
+        assertThat(transactionRepository.findSnapshotByIdAndUserId(foreign.getId(), user.getId())).isEmpty();
+        assertThat(transactionRepository.deleteByIdAndUserIdAndDate(foreign.getId(), user.getId(), foreign.getDate()))
+                .isZero();
+        assertThat(transactionRepository.findSnapshotByIdAndUserId(own.getId(), user.getId()))
+                .hasValueSatisfying(snapshot -> {
+                    assertThat(snapshot.getAmountMinor()).isEqualTo(own.getAmountMinor());
+                    assertThat(snapshot.getDate()).isEqualTo(own.getDate());
+                    assertThat(snapshot.getCategoryId()).isNull();
+                });
+        assertThat(transactionRepository.deleteByIdAndUserIdAndDate(own.getId(), user.getId(),
+                own.getDate().plusDays(1))).isZero();
+        assertThat(transactionRepository.deleteByIdAndUserIdAndDate(own.getId(), user.getId(), own.getDate()))
+                .isOne();
+        assertThat(transactionRepository.existsById(foreign.getId())).isTrue();
+        assertThat(transactionRepository.existsById(own.getId())).isFalse();
+    }
+
+    @Test
+    void updateMatchesTheFullKeyAndCanMoveTheRowToAnotherYear() {
+        Transaction own = transactionRepository.findByUser(user).get(0);
+        LocalDate moved = LocalDate.of(2030, 6, 1);
+
+        assertThat(transactionRepository.updateByIdAndUserIdAndDate(own.getId(), otherUser.getId(), own.getDate(),
+                TransactionType.INCOME, 42, null, moved)).isZero();
+        assertThat(transactionRepository.updateByIdAndUserIdAndDate(own.getId(), user.getId(),
+                own.getDate().plusDays(1), TransactionType.INCOME, 42, null, moved)).isZero();
+        assertThat(transactionRepository.updateByIdAndUserIdAndDate(own.getId(), user.getId(), own.getDate(),
+                TransactionType.INCOME, 42, null, moved)).isOne();
+        entityManager.clear();
+
+        assertThat(transactionRepository.findById(own.getId())).hasValueSatisfying(updated -> {
+            assertThat(updated.getType()).isEqualTo(TransactionType.INCOME);
+            assertThat(updated.getAmountMinor()).isEqualTo(42);
+            assertThat(updated.getDate()).isEqualTo(moved);
+            assertThat(updated.getCategory()).isNull();
+        });
+    }
+
+    private static long fold(List<Transaction> transactions) {
+        return transactions.stream()
+                .mapToLong(t -> t.getType() == TransactionType.INCOME ? t.getAmountMinor() : -t.getAmountMinor())
+                .sum();
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setKeycloakId(username + "-kc");
+        user.setEmail(username + "@email.com");
+        return entityManager.persist(user);
+    }
+
+    private void persistTransaction(User owner, TransactionType type, long amountMinor, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(owner);
+        transaction.setType(type);
+        transaction.setAmountMinor(amountMinor);
+        transaction.setDate(date);
+        entityManager.persist(transaction);
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.parreirinha.expensetrackerapp.config.EmbeddedPostgresTestConfiguration;
+import com.parreirinha.expensetrackerapp.config.ShardDirectory;
+import com.parreirinha.expensetrackerapp.config.ShardTemplate;
+import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.transactions.repository.TransactionRepository;
+import com.parreirinha.expensetrackerapp.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false, properties = {"spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({MonthlySummaryService.class, ShardTemplate.class, ShardDirectory.class, EmbeddedPostgresTestConfiguration.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MonthlySummaryRebuildTest {
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void rebuildWaitsForAWriterThatAlreadyAppliedItsDelta() throws Exception {
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, keycloak_id, username, email) VALUES (?, ?, ?, ?)",
+                userId, "rebuild-kc", "rebuild", "rebuild@example.com");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch applied = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                Transaction transaction = new Transaction();
+                transaction.setUser(userRepository.getReferenceById(userId));
+                transaction.setType(TransactionType.EXPENSE);
+                transaction.setAmountMinor(1_250);
+                transaction.setDate(LocalDate.of(2025, 1, 15));
+                transactionRepository.saveAndFlush(transaction);
+                monthlySummaryService.add(transaction);
+                applied.countDown();
+                await(commit);
+            }));
+            assertThat(applied.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<?> rebuild = executor.submit(() -> monthlySummaryService.rebuild(userId));
+            Thread.sleep(500);
+            assertThat(rebuild.isDone()).isFalse();
+
+            commit.countDown();
+            writer.get(10, TimeUnit.SECONDS);
+            rebuild.get(10, TimeUnit.SECONDS);
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT total_minor, transaction_count FROM monthly_summary WHERE user_id = ?", userId))
+                .containsExactly(Map.of("total_minor", 1_250L, "transaction_count", 1L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
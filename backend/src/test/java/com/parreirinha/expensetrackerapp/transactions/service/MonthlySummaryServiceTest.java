@@ -0,0 +1,148 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.parreirinha.expensetrackerapp.category.domain.Category;
+import com.parreirinha.expensetrackerapp.config.EmbeddedPostgresTestConfiguration;
+import com.parreirinha.expensetrackerapp.config.ShardDirectory;
+import com.parreirinha.expensetrackerapp.config.ShardTemplate;
+import com.parreirinha.expensetrackerapp.transactions.domain.Money;
+import com.parreirinha.expensetrackerapp.transactions.domain.MonthlySummary;
+import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.transactions.repository.MonthlySummaryRepository;
+import com.parreirinha.expensetrackerapp.transactions.repository.TransactionRepository;
+import com.parreirinha.expensetrackerapp.user.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false, properties = {"spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({MonthlySummaryService.class, ShardTemplate.class, ShardDirectory.class, EmbeddedPostgresTestConfiguration.class})
+@ActiveProfiles("test")
+class MonthlySummaryServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private User user;
+    private Category groceries;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("alice");
+        user.setKeycloakId("alice-kc");
+        entityManager.persist(user);
+        groceries = new Category(null, "groceries", user);
+        entityManager.persist(groceries);
+    }
+
+    @Test
+    void deltasFromWritePathsMatchAFullRebuild() {
+        Transaction salary = create(TransactionType.INCOME, "2500.00", LocalDate.of(2025, 1, 31), null);
+        Transaction food = create(TransactionType.EXPENSE, "80.25", LocalDate.of(2025, 1, 5), groceries);
+        Transaction moreFood = create(TransactionType.EXPENSE, "19.75", LocalDate.of(2025, 2, 3), groceries);
+        monthlySummaryService.addAll(List.of(
+                newTransaction(TransactionType.EXPENSE, "5.00", LocalDate.of(2025, 2, 10), groceries),
+                newTransaction(TransactionType.EXPENSE, "7.00", LocalDate.of(2025, 2, 11), groceries)
+        ).stream().peek(entityManager::persist).toList());
+
+        monthlySummaryService.subtract(food);
+        food.setAmountMinor(9_025);
+        food.setDate(LocalDate.of(2025, 3, 1));
+        monthlySummaryService.add(food);
+
+        monthlySummaryService.subtract(salary);
+        transactionRepository.delete(salary);
+
+        transactionRepository.unsetCategoryFromTransactions(groceries.getId(), user.getId());
+        monthlySummaryService.unsetCategory(groceries.getId(), user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<String, Long> incremental = snapshot();
+        assertThat(monthlySummaryRepository.findAll())
+                .allSatisfy(summary -> assertThat(summary.getTransactionCount()).isPositive());
+        assertThat(monthlySummaryService.getBalance(user))
+                .isEqualTo(Money.toDecimal(transactionRepository.getBalanceByUser(user)));
+
+        monthlySummaryService.rebuild(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(snapshot()).isEqualTo(incremental);
+        assertThat(moreFood.getId()).isNotNull();
+    }
+
+    @Test
+    void unsetCategoryMergesIntoTheUncategorizedBucket() {
+        create(TransactionType.EXPENSE, "10.00", LocalDate.of(2025, 1, 2), null);
+        create(TransactionType.EXPENSE, "20.00", LocalDate.of(2025, 1, 3), groceries);
+
+        transactionRepository.unsetCategoryFromTransactions(groceries.getId(), user.getId());
+        monthlySummaryService.unsetCategory(groceries.getId(), user.getId());
+        create(TransactionType.EXPENSE, "5.00", LocalDate.of(2025, 1, 4), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(monthlySummaryRepository.findAll())
+                .singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.getCategoryId()).isNull();
+                    assertThat(summary.getTotalMinor()).isEqualTo(3_500);
+                    assertThat(summary.getTransactionCount()).isEqualTo(3);
+                });
+        assertThat(monthlySummaryService.getBalance(user))
+                .isEqualTo(Money.toDecimal(transactionRepository.getBalanceByUser(user)));
+    }
+
+    private Map<String, Long> snapshot() {
+        return monthlySummaryRepository.findAll().stream()
+                .sorted(Comparator.comparing(MonthlySummary::getMonth))
+                .collect(Collectors.groupingBy(
+                        summary -> summary.getMonth() + "/" + Objects.toString(summary.getCategoryId()) + "/" + summary.getType(),
+                        Collectors.summingLong(MonthlySummary::getTotalMinor)));
+    }
+
+    private Transaction create(TransactionType type, String amount, LocalDate date, Category category) {
+        Transaction transaction = newTransaction(type, amount, date, category);
+        entityManager.persist(transaction);
+        monthlySummaryService.add(transaction);
+        return transaction;
+    }
+
+    private Transaction newTransaction(TransactionType type, String amount, LocalDate date, Category category) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setType(type);
+        transaction.setAmountMinor(Money.toMinorUnits(new BigDecimal(amount)));
+        transaction.setDate(date);
+        transaction.setCategory(category);
+        return transaction;
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.parreirinha.expensetrackerapp.category.domain.Category;
+import com.parreirinha.expensetrackerapp.category.mapper.CategoryMapperImpl;
+import com.parreirinha.expensetrackerapp.category.repository.CategoryRepository;
+import com.parreirinha.expensetrackerapp.config.ShardDirectory;
+import com.parreirinha.expensetrackerapp.config.ShardTemplate;
+import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.transactions.dto.SummaryGroupBy;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionAnalyticsRow;
+import com.parreirinha.expensetrackerapp.transactions.mapper.TransactionMapperImpl;
+import com.parreirinha.expensetrackerapp.transactions.repository.TransactionRepository;
+import com.parreirinha.expensetrackerapp.user.domain.User;
+import com.parreirinha.expensetrackerapp.user.service.UserDataVersionService;
+import com.parreirinha.expensetrackerapp.user.service.UserIdentityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false)
+@Import({TransactionService.class, MonthlySummaryService.class, UserIdentityService.class, UserDataVersionService.class,
+        TransactionAnalyticsCache.class, ShardTemplate.class, ShardDirectory.class, TransactionMapperImpl.class,
+        CategoryMapperImpl.class, ConcurrentMapCacheManager.class})
+@ActiveProfiles("test")
+class TransactionAnalyticsCacheTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserIdentityService userIdentityService;
+
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+
+    private TransactionAnalyticsCache analyticsCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("alice");
+        user.setKeycloakId("alice-kc");
+        entityManager.persist(user);
+        List<Category> categories = List.of(
+                entityManager.persist(new Category(null, "salary", user)),
+                entityManager.persist(new Category(null, "groceries", user)),
+                entityManager.persist(new Category(null, "rent", user)));
+        for (int i = 0; i < 120; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setUser(user);
+            transaction.setCategory(i % 4 == 0 ? null : categories.get(i % 3));
+            transaction.setType(i % 3 == 2 ? TransactionType.INCOME : TransactionType.EXPENSE);
+            transaction.setAmountMinor(1000 + 37L * i);
+            transaction.setDate(LocalDate.of(2024, 11, 20).plusDays(i * 2L));
+            entityManager.persist(transaction);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        analyticsCache = new TransactionAnalyticsCache(transactionRepository, categoryRepository, userIdentityService,
+                userDataVersionService, true, DataSize.ofMegabytes(1));
+    }
+
+    @Test
+    void snapshotAnswersMatchTheSqlPath() {
+        TransactionAnalyticsSnapshot snapshot = analyticsCache.get(user.getId()).orElseThrow();
+        LocalDate from = LocalDate.of(2025, 1, 15);
+        LocalDate to = LocalDate.of(2025, 4, 2);
+
+        assertThat(snapshot.size()).isEqualTo(120);
+        assertThat(snapshot.balance()).isEqualTo(transactionRepository.getBalanceByUser(user));
+        assertThat(snapshot.balance(from, to))
+                .isEqualTo(transactionRepository.getBalanceByUserAndDateBetween(user, from, to));
+        assertThat(snapshot.summarize(from, to, SummaryGroupBy.MONTH))
+                .isEqualTo(transactionService.getSummary(user.getId(), from, to, SummaryGroupBy.MONTH));
+        assertThat(snapshot.summarize(from, to, SummaryGroupBy.TYPE))
+                .isEqualTo(transactionService.getSummary(user.getId(), from, to, SummaryGroupBy.TYPE));
+        assertThat(snapshot.summarize(from, to, SummaryGroupBy.CATEGORY))
+                .containsExactlyElementsOf(
+                        transactionService.getSummary(user.getId(), from, to, SummaryGroupBy.CATEGORY));
+        assertThat(snapshot.summarize(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 12, 31), SummaryGroupBy.MONTH))
+                .isEmpty();
+    }
+
+    @Test
+    void snapshotIsRebuiltOnlyAfterTheDataVersionChanges() {
+        UUID userId = user.getId();
+        TransactionAnalyticsSnapshot first = analyticsCache.get(userId).orElseThrow();
+
+        assertThat(analyticsCache.get(userId)).containsSame(first);
+
+        Transaction transaction = new Transaction();
+        transaction.setUser(userIdentityService.getUserReference(userId));
+        transaction.setType(TransactionType.INCOME);
+        transaction.setAmountMinor(5000);
+        transaction.setDate(LocalDate.of(2025, 2, 1));
+        entityManager.persist(transaction);
+        userDataVersionService.bump(userId);
+        entityManager.flush();
+        entityManager.clear();
+
+        TransactionAnalyticsSnapshot second = analyticsCache.get(userId).orElseThrow();
+        assertThat(second.version()).isGreaterThan(first.version());
+        assertThat(second.size()).isEqualTo(121);
+        assertThat(second.balance()).isEqualTo(first.balance() + 5000);
+    }
+
+    @Test
+    void committedWritesAreAppliedToTheCachedSnapshot() {
+        UUID userId = user.getId();
+        TransactionAnalyticsSnapshot first = analyticsCache.get(userId).orElseThrow();
+        TransactionAnalyticsRow added = new TransactionAnalyticsRow(5000, LocalDate.of(2025, 2, 1),
+                TransactionType.INCOME, null);
+        TransactionAnalyticsRow removed = new TransactionAnalyticsRow(1000, LocalDate.of(2024, 11, 20),
+                TransactionType.EXPENSE, null);
+
+        userDataVersionService.bump(userId);
+        analyticsCache.apply(userId, null, added);
+        userDataVersionService.bump(userId);
+        analyticsCache.apply(userId, removed, null);
+        commit();
+
+        // Neither row was written, so a rebuild would still see the original 120.
+        TransactionAnalyticsSnapshot applied = analyticsCache.get(userId).orElseThrow();
+        assertThat(applied.version()).isEqualTo(first.version() + 2);
+        assertThat(applied.size()).isEqualTo(120);
+        assertThat(applied.balance()).isEqualTo(first.balance() + 5000 + 1000);
+        assertThat(applied.balance(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 1))).isEqualTo(5000);
+    }
+
+    @Test
+    void aVersionGapRebuildsTheSnapshot() {
+        UUID userId = user.getId();
+        TransactionAnalyticsSnapshot first = analyticsCache.get(userId).orElseThrow();
+
+        userDataVersionService.bump(userId);
+        userDataVersionService.bump(userId);
+        analyticsCache.apply(userId, null, new TransactionAnalyticsRow(5000, LocalDate.of(2025, 2, 1),
+                TransactionType.INCOME, null));
+        commit();
+
+        TransactionAnalyticsSnapshot rebuilt = analyticsCache.get(userId).orElseThrow();
+        assertThat(rebuilt.version()).isEqualTo(first.version() + 2);
+        assertThat(rebuilt.balance()).isEqualTo(first.balance());
+    }
+
+    @Test
+    void tooManyCategoriesSkipTheSnapshotWithoutReadingRows() {
+        List<Category> categories = IntStream.rangeClosed(0, TransactionAnalyticsSnapshot.MAX_CATEGORIES)
+                .mapToObj(i -> new Category(UUID.randomUUID(), "category-" + i, user))
+                .toList();
+        Iterator<TransactionAnalyticsRow> rows = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                throw new AssertionError("rows must not be read");
+            }
+
+            @Override
+            public TransactionAnalyticsRow next() {
+                throw new AssertionError("rows must not be read");
+            }
+        };
+
+        assertThat(TransactionAnalyticsSnapshot.build(0, categories, rows)).isEmpty();
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionCsvReaderTest {
+
+    @Test
+    void readsRowsByHeaderNameAndReportsBadRows() {
+        UUID categoryId = UUID.randomUUID();
+        String csv = """
+                date,type,amount,category_id
+                2025-01-10,expense,12.50,%s
+                2025-01-11,INCOME,"100",
+
+                not-a-date,EXPENSE,1.00,
+                2025-01-12,REFUND,1.00,
+                2025-01-13,EXPENSE
+                """.formatted(categoryId);
+
+        List<TransactionImportRow> rows = readAll(csv);
+
+        assertThat(rows).hasSize(5);
+        assertThat(rows.get(0).transaction().amount()).isEqualByComparingTo(new BigDecimal("12.50"));
+        assertThat(rows.get(0).transaction().type()).isEqualTo(TransactionType.EXPENSE);
+        assertThat(rows.get(0).transaction().categoryId()).isEqualTo(categoryId);
+        assertThat(rows.get(1).transaction().date()).isEqualTo(LocalDate.of(2025, 1, 11));
+        assertThat(rows.get(1).transaction().categoryId()).isNull();
+        assertThat(rows.subList(2, 5)).allSatisfy(row -> assertThat(row.error()).isNotNull());
+        assertThat(rows).extracting(TransactionImportRow::row).containsExactly(2L, 3L, 5L, 6L, 7L);
+    }
+
+    @Test
+    void quotedFieldsMayHoldCommasQuotesAndLineBreaks() {
+        String csv = "\"amount\",type,date,note\r\n"
+                + "\"1,000.50\",EXPENSE,2025-02-01,plain\r\n"
+                + "\r\n"
+                + "12.00,INCOME,2025-02-02,\"said \"\"hi\"\", then\nleft\"\r\n"
+                + "3.00,EXPENSE,2025-02-03,after\r\n"
+                + "4.00,EXPENSE,2025-02-04,\"never closed\n";
+
+        List<TransactionImportRow> rows = readAll(csv);
+
+        assertThat(rows).extracting(TransactionImportRow::row).containsExactly(2L, 4L, 6L, 7L);
+        assertThat(rows.get(0).error()).startsWith("Invalid value");
+        assertThat(rows.get(1).transaction().amount()).isEqualByComparingTo("12.00");
+        assertThat(rows.get(2).transaction().date()).isEqualTo(LocalDate.of(2025, 2, 3));
+        assertThat(rows.get(3).error()).isEqualTo("Unterminated quoted field");
+    }
+
+    @Test
+    void rejectsHeaderWithoutRequiredColumns() {
+        assertThatThrownBy(() -> readAll("amount,date\n1.00,2025-01-01\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("type");
+    }
+
+    private static List<TransactionImportRow> readAll(String csv) {
+        TransactionCsvReader reader = new TransactionCsvReader(new BufferedReader(new StringReader(csv)));
+        List<TransactionImportRow> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+
+}
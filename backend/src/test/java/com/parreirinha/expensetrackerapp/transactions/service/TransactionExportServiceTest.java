@@ -0,0 +1,27 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionExportServiceTest {
+
+    @Test
+    void formulaCellsAreWrittenAsText() {
+        assertThat(TransactionExportService.escapeCsv("=1+1")).isEqualTo("'=1+1");
+        assertThat(TransactionExportService.escapeCsv("+cmd")).isEqualTo("'+cmd");
+        assertThat(TransactionExportService.escapeCsv("-2")).isEqualTo("'-2");
+        assertThat(TransactionExportService.escapeCsv("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(TransactionExportService.escapeCsv("=HYPERLINK(\"http://x\",\"y\")"))
+                .isEqualTo("\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\"");
+    }
+
+    @Test
+    void plainCellsAreQuotedOnlyWhenNeeded() {
+        assertThat(TransactionExportService.escapeCsv("Groceries")).isEqualTo("Groceries");
+        assertThat(TransactionExportService.escapeCsv("")).isEmpty();
+        assertThat(TransactionExportService.escapeCsv("Food, drinks")).isEqualTo("\"Food, drinks\"");
+        assertThat(TransactionExportService.escapeCsv("a-b=c")).isEqualTo("a-b=c");
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionJsonReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void readsArrayElementsOneByOne() {
+        List<TransactionImportRow> rows = readAll("""
+                [{"amount": 12.5, "type": "EXPENSE", "date": "2025-01-10"},
+                 null,
+                 {"amount": "100", "type": "INCOME", "date": "2025-01-11"}]
+                """);
+
+        assertThat(rows).extracting(TransactionImportRow::row).containsExactly(1L, 2L, 3L);
+        assertThat(rows.get(0).transaction().type()).isEqualTo(TransactionType.EXPENSE);
+        assertThat(rows.get(1).transaction()).isNull();
+        assertThat(rows.get(2).transaction().date()).isEqualTo(LocalDate.of(2025, 1, 11));
+    }
+
+    @Test
+    void malformedBodiesAreBadRequests() {
+        assertThatThrownBy(() -> readAll("{\"amount\": 1}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("JSON array");
+        assertThatThrownBy(() -> readAll("[{\"amount\": 1, \"type\": \"REFUND\"}]"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("element 1");
+        assertThatThrownBy(() -> readAll("[{\"amount\": 1, \"type\": \"INCOME\", \"date\": \"2025-01-01\"}"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<TransactionImportRow> readAll(String json) {
+        TransactionJsonReader reader = new TransactionJsonReader(objectMapper.reader(),
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        List<TransactionImportRow> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+
+}
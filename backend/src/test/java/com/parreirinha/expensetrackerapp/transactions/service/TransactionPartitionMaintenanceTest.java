@@ -0,0 +1,60 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.parreirinha.expensetrackerapp.config.EmbeddedPostgresTestConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false, properties = {"spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EmbeddedPostgresTestConfiguration.class)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionPartitionMaintenanceTest {
+
+    private static final int INSTANCES = 4;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentInstancesCreateEachYearPartitionOnce() throws Exception {
+        CyclicBarrier start = new CyclicBarrier(INSTANCES);
+        ExecutorService executor = Executors.newFixedThreadPool(INSTANCES);
+        try {
+            List<Future<Integer>> calls = new ArrayList<>();
+            for (int i = 0; i < INSTANCES; i++)
+                calls.add(executor.submit(() -> {
+                    start.await();
+                    return jdbcTemplate.queryForObject("SELECT create_transaction_year_partitions(2090)", Integer.class);
+                }));
+            int created = 0;
+            for (Future<Integer> call : calls)
+                created += call.get();
+
+            Integer partitions = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_class WHERE relname ~ '^transaction_h[0-9]+_2090$'", Integer.class);
+            Integer hashPartitions = jdbcTemplate.queryForObject("SELECT transaction_hash_partitions()", Integer.class);
+            assertThat(created).isEqualTo(hashPartitions);
+            assertThat(partitions).isEqualTo(hashPartitions);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
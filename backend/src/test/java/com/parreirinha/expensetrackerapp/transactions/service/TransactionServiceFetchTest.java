@@ -0,0 +1,105 @@
+package com.parreirinha.expensetrackerapp.transactions.service;
+
+import com.parreirinha.expensetrackerapp.category.domain.Category;
+import com.parreirinha.expensetrackerapp.category.mapper.CategoryMapperImpl;
+import com.parreirinha.expensetrackerapp.config.ShardDirectory;
+import com.parreirinha.expensetrackerapp.config.ShardTemplate;
+import com.parreirinha.expensetrackerapp.transactions.domain.Transaction;
+import com.parreirinha.expensetrackerapp.transactions.domain.TransactionType;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionFilterDto;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionPageDto;
+import com.parreirinha.expensetrackerapp.transactions.dto.TransactionResponseDto;
+import com.parreirinha.expensetrackerapp.transactions.mapper.TransactionMapperImpl;
+import com.parreirinha.expensetrackerapp.user.domain.User;
+import com.parreirinha.expensetrackerapp.user.service.UserDataVersionService;
+import com.parreirinha.expensetrackerapp.user.service.UserIdentityService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({TransactionService.class, MonthlySummaryService.class, UserIdentityService.class, UserDataVersionService.class,
+        TransactionAnalyticsCache.class, ShardTemplate.class, ShardDirectory.class, TransactionMapperImpl.class,
+        CategoryMapperImpl.class, ConcurrentMapCacheManager.class})
+@ActiveProfiles("test")
+class TransactionServiceFetchTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Statistics statistics;
+    private UUID userId;
+    private UUID transactionId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("alice");
+        user.setKeycloakId("alice-kc");
+        entityManager.persist(user);
+        List<Category> categories = List.of(
+                entityManager.persist(new Category(null, "groceries", user)),
+                entityManager.persist(new Category(null, "rent", user)),
+                entityManager.persist(new Category(null, "salary", user)));
+        for (int i = 0; i < 30; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setUser(user);
+            transaction.setCategory(i % 4 == 0 ? null : categories.get(i % 3));
+            transaction.setType(i % 3 == 2 ? TransactionType.INCOME : TransactionType.EXPENSE);
+            transaction.setAmountMinor(1000 + i);
+            transaction.setDate(LocalDate.of(2025, 1, 1).plusDays(i));
+            transactionId = entityManager.persist(transaction).getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        userId = user.getId();
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listFetchesPageAndCategoriesInOneStatement() {
+        TransactionPageDto page = transactionService.getTransactions(
+                userId, new TransactionFilterDto(null, null, null, null, null, null), null, 20);
+
+        assertThat(page.items()).hasSize(20);
+        assertThat(page.items()).anySatisfy(item -> assertThat(item.category().name()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(21 + 3);
+    }
+
+    @Test
+    void detailFetchesTransactionAndCategoryInOneStatement() {
+        TransactionResponseDto dto = transactionService.getTransaction(userId, transactionId);
+
+        assertThat(dto.category().name()).isEqualTo("salary");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void balanceIsASingleAggregate() {
+        transactionService.getBalance(userId);
+        transactionService.getBalance(userId, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.parreirinha.expensetrackerapp.user.service;
+
+import com.parreirinha.expensetrackerapp.user.domain.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false)
+@Import(UserDataVersionService.class)
+@ActiveProfiles("test")
+class UserDataVersionServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+
+    @Test
+    void bumpChangesTheEtagAndEntityUpdatesDoNotRollItBack() {
+        User user = new User();
+        user.setUsername("alice");
+        user.setKeycloakId("alice-kc");
+        user.setEmail("alice@email.com");
+        User stale = entityManager.persistAndFlush(user);
+        String initial = userDataVersionService.etag(user.getId());
+
+        userDataVersionService.bump(user.getId());
+        String bumped = userDataVersionService.etag(user.getId());
+        stale.setEmail("alice@example.com");
+        entityManager.flush();
+
+        assertThat(initial).isEqualTo("\"" + user.getId() + "-0\"");
+        assertThat(bumped).isNotEqualTo(initial);
+        assertThat(userDataVersionService.etag(user.getId())).isEqualTo(bumped);
+    }
+
+}